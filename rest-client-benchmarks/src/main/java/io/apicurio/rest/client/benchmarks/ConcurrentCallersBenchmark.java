@@ -0,0 +1,136 @@
+package io.apicurio.rest.client.benchmarks;
+
+import io.apicurio.rest.client.JdkHttpClient;
+import io.apicurio.rest.client.config.ApicurioClientConfig;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.util.VirtualThreads;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many callers blocked in {@code sendRequest} at the same time against a server answering after a fixed
+ * latency, with the callers and the JDK client either on platform threads or on virtual threads. One operation
+ * is a batch of concurrent requests, the request throughput is the score times the number of callers. The peak
+ * number of live threads of each iteration is reported as the {@code peakLiveThreads} secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(1)
+@Fork(1)
+public class ConcurrentCallersBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"10000"})
+    public int callers;
+
+    @Param({"50"})
+    public long latencyMillis;
+
+    private Vertx vertx;
+    private HttpServer server;
+    private ExecutorService callerExecutor;
+    private JdkHttpClient client;
+    private Request<List<Country>> request;
+
+    @Setup
+    public void setup() throws Exception {
+        final boolean virtual = "virtual".equals(threads);
+        if (virtual && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("The virtual threads variant requires Java 21 or later, run it with -p threads=platform on " + Runtime.version());
+        }
+        final Buffer body = Buffer.buffer(Payloads.countries(Payloads.SMALL));
+        vertx = Vertx.vertx();
+        server = vertx.createHttpServer(new HttpServerOptions().setTcpNoDelay(true).setAcceptBacklog(callers))
+                .requestHandler(serverRequest -> vertx.setTimer(latencyMillis, id -> serverRequest.response()
+                        .putHeader("Content-Type", "application/json")
+                        .end(body)));
+        server.listen(0, "localhost").toCompletionStage().toCompletableFuture().get();
+
+        callerExecutor = virtual ? VirtualThreads.newVirtualThreadPerTaskExecutor() : Executors.newCachedThreadPool();
+        client = new JdkHttpClient("http://localhost:" + server.actualPort(), Map.of(ApicurioClientConfig.APICURIO_CLIENT_VIRTUAL_THREADS, virtual), null, null);
+        request = new Request.RequestBuilder<List<Country>>()
+                .operation(Operation.GET)
+                .path("countries")
+                .responseType(Payloads.COUNTRY_LIST)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        callerExecutor.shutdownNow();
+        server.close();
+        vertx.close();
+    }
+
+    /**
+     * The peak number of live platform threads of the iteration, reported as is rather than as a rate.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class PeakThreads {
+
+        private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        public long peakLiveThreads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            peakLiveThreads = 0;
+            threadBean.resetPeakThreadCount();
+        }
+
+        void update() {
+            peakLiveThreads = threadBean.getPeakThreadCount();
+        }
+    }
+
+    @Benchmark
+    public int concurrentCallers(PeakThreads peakThreads) throws InterruptedException, ExecutionException {
+        final List<Future<List<Country>>> results = new ArrayList<>(callers);
+        for (int i = 0; i < callers; i++) {
+            results.add(callerExecutor.submit(() -> client.sendRequest(request)));
+        }
+        int completed = 0;
+        for (Future<List<Country>> result : results) {
+            if (result.get() != null) {
+                completed++;
+            }
+        }
+        peakThreads.update();
+        return completed;
+    }
+}
@@ -0,0 +1,107 @@
+package io.apicurio.rest.client.benchmarks;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.apicurio.rest.client.util.JsonCodec;
+import io.apicurio.rest.client.util.RegistryDateDeserializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization of a list of dates, as found in search results, by {@link RegistryDateDeserializer} and by the
+ * former tree and SimpleDateFormat based implementation kept below as {@link LegacyRegistryDateDeserializer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateDeserializationBenchmark {
+
+    private static final TypeReference<List<Date>> DATE_LIST = new TypeReference<List<Date>>() {
+    };
+    private static final int DATES = 1000;
+
+    private byte[] body;
+    private ObjectReader reader;
+    private ObjectReader legacyReader;
+
+    @Setup
+    public void setup() {
+        final List<String> dates = new ArrayList<>(DATES);
+        final Instant start = Instant.parse("2022-01-17T07:30:06Z");
+        for (int i = 0; i < DATES; i++) {
+            //both formats returned by the registry
+            final String date = start.plusSeconds(i * 3637L).toString();
+            dates.add(i % 2 == 0 ? date : date.replace("Z", "+0000"));
+        }
+        try {
+            body = new ObjectMapper().writeValueAsBytes(dates);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        reader = JsonCodec.createDefaultMapper().readerFor(DATE_LIST);
+        final ObjectMapper legacyMapper = new ObjectMapper();
+        legacyMapper.registerModule(new SimpleModule("Legacy date handler").addDeserializer(Date.class, new LegacyRegistryDateDeserializer()));
+        legacyReader = legacyMapper.readerFor(DATE_LIST);
+    }
+
+    @Benchmark
+    public List<Date> dates() throws IOException {
+        return reader.readValue(body);
+    }
+
+    @Benchmark
+    public List<Date> legacyDates() throws IOException {
+        return legacyReader.readValue(body);
+    }
+
+    static class LegacyRegistryDateDeserializer extends JsonDeserializer<Date> {
+
+        private final ThreadLocal<DateFormat> dateFormat = ThreadLocal.withInitial(() -> new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ"));
+
+        @Override
+        public Date deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonNode node = parser.getCodec().readTree(parser);
+            String date = node.textValue();
+
+            if (date != null && date.endsWith("Z")) {
+                date = date.replace("Z", "+0000");
+            }
+
+            try {
+                return dateFormat.get().parse(date);
+            } catch (ParseException e) {
+            }
+            throw new JsonParseException(parser, "Failed to parse date (not a supported format).");
+        }
+    }
+}
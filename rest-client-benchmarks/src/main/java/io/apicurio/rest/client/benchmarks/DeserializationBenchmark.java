@@ -0,0 +1,57 @@
+package io.apicurio.rest.client.benchmarks;
+
+import io.apicurio.rest.client.handler.BodyHandler;
+import io.apicurio.rest.client.response.ResponseHandler;
+import io.apicurio.rest.client.util.IoUtil;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization of an already received body by the JDK and the Vert.x response handlers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeserializationBenchmark {
+
+    @Param({Payloads.SMALL, Payloads.LARGE})
+    public String payload;
+
+    private byte[] body;
+    private Buffer buffer;
+
+    @Setup
+    public void setup() {
+        body = Payloads.countries(payload);
+        buffer = Buffer.buffer(body);
+    }
+
+    @Benchmark
+    public List<Country> jdkBodyHandler() {
+        return BodyHandler.readBody(IoUtil.toStream(body), 200, Payloads.COUNTRY_LIST, null);
+    }
+
+    @Benchmark
+    public List<Country> vertxResponseHandler() {
+        final CompletableFuture<List<Country>> result = new CompletableFuture<>();
+        new ResponseHandler<>(result, Payloads.COUNTRY_LIST, null).handleResponse(200, buffer);
+        return result.join();
+    }
+}
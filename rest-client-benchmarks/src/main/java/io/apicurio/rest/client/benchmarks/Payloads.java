@@ -0,0 +1,39 @@
+package io.apicurio.rest.client.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Json payloads used by the benchmarks, a small one of a single country and a large one of many.
+ */
+public final class Payloads {
+
+    public static final String SMALL = "small";
+    public static final String LARGE = "large";
+
+    public static final TypeReference<List<Country>> COUNTRY_LIST = new TypeReference<List<Country>>() {
+    };
+
+    private static final int LARGE_SIZE = 5000;
+
+    private Payloads() {
+    }
+
+    public static byte[] countries(String size) {
+        final int count = LARGE.equals(size) ? LARGE_SIZE : 1;
+        final List<Country> countries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            countries.add(new Country("Country " + i, "Capital " + i));
+        }
+        try {
+            return new ObjectMapper().writeValueAsBytes(countries);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
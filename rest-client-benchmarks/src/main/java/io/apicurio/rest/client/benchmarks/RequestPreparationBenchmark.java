@@ -0,0 +1,92 @@
+package io.apicurio.rest.client.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.apicurio.rest.client.JdkHttpClient;
+import io.apicurio.rest.client.VertxHttpClient;
+import io.apicurio.rest.client.auth.BasicAuth;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_HEADERS_PREFIX;
+
+/**
+ * Requests with path and query params, client, request and auth headers, answered by an in-process http server
+ * without a body, so that the assembly of their uri and headers weighs in the exchange unlike in
+ * {@link RoundTripBenchmark}. The gc.alloc.rate.norm column tells apart changes of the preparation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestPreparationBenchmark {
+
+    private HttpServer server;
+    private Vertx vertx;
+    private JdkHttpClient jdkHttpClient;
+    private VertxHttpClient vertxHttpClient;
+    private Request<Void> request;
+
+    @Setup
+    public void setup() throws InterruptedException, ExecutionException {
+        vertx = Vertx.vertx();
+        server = vertx.createHttpServer(new HttpServerOptions().setTcpNoDelay(true))
+                .requestHandler(serverRequest -> serverRequest.response().setStatusCode(204).end());
+        server.listen(0, "localhost").toCompletionStage().toCompletableFuture().get();
+
+        final String baseUrl = "http://localhost:" + server.actualPort();
+        final Map<String, Object> configs = Map.of(
+                APICURIO_REQUEST_HEADERS_PREFIX + "X-Registry-Tenant", "tenant",
+                APICURIO_REQUEST_HEADERS_PREFIX + "X-Request-Source", "benchmark");
+        final BasicAuth auth = new BasicAuth("user", "password");
+        jdkHttpClient = new JdkHttpClient(baseUrl, configs, auth, null);
+        vertxHttpClient = new VertxHttpClient(vertx, baseUrl, configs, auth, null);
+        request = new Request.RequestBuilder<Void>()
+                .operation(Operation.GET)
+                .path("groups/%s/artifacts/%s")
+                .pathParams(List.of("default", "my artifact"))
+                .queryParams(Map.of("canonical", List.of("true"), "references", List.of("PRESERVE")))
+                .headers(Map.of("X-Registry-ArtifactType", "AVRO"))
+                .responseType(new TypeReference<Void>() {
+                })
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdkHttpClient.close();
+        vertxHttpClient.close();
+        server.close();
+        vertx.close();
+    }
+
+    @Benchmark
+    public Void jdk() {
+        return jdkHttpClient.sendRequest(request);
+    }
+
+    @Benchmark
+    public Void vertx() {
+        return vertxHttpClient.sendRequest(request);
+    }
+}
@@ -0,0 +1,102 @@
+package io.apicurio.rest.client.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+import io.apicurio.rest.client.JdkHttpClient;
+import io.apicurio.rest.client.VertxHttpClient;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full request/response exchanges of both clients against an in-process http server, the server side cost is
+ * the same for both clients.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RoundTripBenchmark {
+
+    @Param({Payloads.SMALL, Payloads.LARGE})
+    public String payload;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private Vertx vertx;
+    private JdkHttpClient jdkHttpClient;
+    private VertxHttpClient vertxHttpClient;
+    private Request<List<Country>> request;
+
+    @Setup
+    public void setup() throws IOException {
+        final byte[] body = Payloads.countries(payload);
+        //without it Nagle's algorithm delays every small response by the client delayed ack
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/countries", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        final String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        vertx = Vertx.vertx();
+        jdkHttpClient = new JdkHttpClient(baseUrl, Map.of(), null, null);
+        vertxHttpClient = new VertxHttpClient(vertx, baseUrl, Map.of(), null, null);
+        request = new Request.RequestBuilder<List<Country>>()
+                .operation(Operation.GET)
+                .path("countries")
+                .responseType(Payloads.COUNTRY_LIST)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdkHttpClient.close();
+        vertxHttpClient.close();
+        vertx.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<Country> jdk() {
+        return jdkHttpClient.sendRequest(request);
+    }
+
+    @Benchmark
+    public List<Country> vertx() {
+        return vertxHttpClient.sendRequest(request);
+    }
+}
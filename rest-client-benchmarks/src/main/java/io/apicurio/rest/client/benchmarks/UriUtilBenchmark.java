@@ -0,0 +1,117 @@
+package io.apicurio.rest.client.benchmarks;
+
+import io.apicurio.rest.client.util.UriUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link UriUtil}, backed by compiled path templates, with the former String.format based
+ * implementation kept below as {@link #legacyBuildURI(String, Map, List)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriUtilBenchmark {
+
+    private static final String TEMPLATE = "http://localhost:8080/apis/registry/v2/groups/%s/artifacts/%s/versions/%s";
+
+    private final List<String> pathParams = List.of("my-group", "my artifact", "1.0.0");
+    private final Map<String, List<String>> queryParams = new LinkedHashMap<>();
+
+    public UriUtilBenchmark() {
+        queryParams.put("limit", List.of("20"));
+        queryParams.put("offset", List.of("40"));
+        queryParams.put("labels", List.of("a", "b", "c"));
+    }
+
+    @Benchmark
+    public URI pathParams() {
+        return UriUtil.buildURI(TEMPLATE, Collections.emptyMap(), pathParams);
+    }
+
+    @Benchmark
+    public URI pathAndQueryParams() {
+        return UriUtil.buildURI(TEMPLATE, queryParams, pathParams);
+    }
+
+    @Benchmark
+    public URI legacyPathParams() {
+        return legacyBuildURI(TEMPLATE, Collections.emptyMap(), pathParams);
+    }
+
+    @Benchmark
+    public URI legacyPathAndQueryParams() {
+        return legacyBuildURI(TEMPLATE, queryParams, pathParams);
+    }
+
+    @Benchmark
+    public String pathAndQueryParamsWithoutParsing() {
+        return UriUtil.buildPath(TEMPLATE, queryParams, pathParams);
+    }
+
+    static URI legacyBuildURI(String basePath, Map<String, List<String>> queryParams, List<String> pathParams) {
+        final Object[] encodedPathParams = pathParams
+                .stream()
+                .map(UriUtilBenchmark::legacyEncodeURIComponent)
+                .toArray();
+
+        String path = String.format(basePath, encodedPathParams);
+
+        if (!queryParams.isEmpty()) {
+            path = path.concat("?");
+
+            final Iterator<String> keyIterator = queryParams.keySet().iterator();
+            while (keyIterator.hasNext()) {
+                String key = keyIterator.next();
+                final Iterator<String> valueIterator = queryParams.get(key).iterator();
+
+                while (valueIterator.hasNext()) {
+                    String value = valueIterator.next();
+                    path = path.concat(key).concat("=").concat(value);
+                    path = legacyAppendAmpersandIfNeeded(valueIterator, path);
+                }
+                path = legacyAppendAmpersandIfNeeded(keyIterator, path);
+            }
+        }
+
+        return URI.create(path);
+    }
+
+    private static String legacyAppendAmpersandIfNeeded(Iterator<String> iterator, String path) {
+        if (iterator.hasNext() && !(path.lastIndexOf("&") == path.length() - 1)) {
+            return path.concat("&");
+        } else {
+            return path;
+        }
+    }
+
+    private static String legacyEncodeURIComponent(String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
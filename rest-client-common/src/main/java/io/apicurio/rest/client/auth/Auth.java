@@ -16,6 +16,7 @@
 
 package io.apicurio.rest.client.auth;
 
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -26,8 +27,18 @@ public interface Auth {
     /**
      * Called to apply this auth mechanism to the HTTP request headers.  Typically an implementation
      * would add an "Authorization" header or something similar.
-     * @param requestHeaders
+     * @param requestHeaders a mutable copy of the headers of the request, sent as left by this method
      */
     public void apply(Map<String, String> requestHeaders);
 
+    /**
+     * Headers applied to every request when they never change, such as a precomputed Authorization header.
+     * When not empty, clients compute them once and add them to each request instead of calling
+     * {@link #apply(Map)}, which must then add the very same headers.
+     * @return the static headers, or an empty map when the headers must be computed for each request
+     */
+    default Map<String, String> getStaticHeaders() {
+        return Collections.emptyMap();
+    }
+
 }
@@ -29,10 +29,14 @@ public class BasicAuth implements Auth {
 
     private final String username;
     private final String password;
+    private final Map<String, String> headers;
 
     public BasicAuth(String username, String password) {
         this.username = username;
         this.password = password;
+        String usernameAndPassword = username + ":" + password;
+        String encoded = Base64.getEncoder().encodeToString(usernameAndPassword.getBytes(StandardCharsets.UTF_8));
+        this.headers = Map.of("Authorization", BASIC + encoded);
     }
 
     public String getUsername() {
@@ -48,9 +52,15 @@ public class BasicAuth implements Auth {
      */
     @Override
     public void apply(Map<String, String> requestHeaders) {
-        String usernameAndPassword = username + ":" + password;
-        String encoded = Base64.getEncoder().encodeToString(usernameAndPassword.getBytes(StandardCharsets.UTF_8));
-        requestHeaders.put("Authorization", BASIC + encoded);
+        requestHeaders.putAll(headers);
+    }
+
+    /**
+     * @see Auth#getStaticHeaders()
+     */
+    @Override
+    public Map<String, String> getStaticHeaders() {
+        return headers;
     }
 
     public static class Builder {
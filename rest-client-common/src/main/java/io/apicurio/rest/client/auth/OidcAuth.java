@@ -19,18 +19,34 @@ package io.apicurio.rest.client.auth;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.apicurio.rest.client.auth.request.TokenRequestsProvider;
 import io.apicurio.rest.client.spi.ApicurioHttpClient;
+import io.apicurio.rest.client.spi.ClientMetrics;
 
 import java.net.URLEncoder;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 
 /**
+ * Client credentials authentication. The access token is shared by all the threads using this instance and is
+ * requested at most once at a time, threads needing a token while it is being requested wait for that request.
+ * <p>
+ * Once the refresh ratio of its lifetime has elapsed, the token is renewed while still in use: by an
+ * asynchronous token request started by the first thread noticing it, or by a background thread when
+ * background refresh is enabled. Either way requests keep using the current token meanwhile, and only wait for
+ * the identity server when there is no token yet or it has expired.
+ *
  * @author carnalca@redhat.com
  */
 public class OidcAuth implements Auth, AutoCloseable {
@@ -39,35 +55,53 @@ public class OidcAuth implements Auth, AutoCloseable {
     private static final String CLIENT_CREDENTIALS_GRANT = "client_credentials";
     private static final String PASSWORD_GRANT = "password";
     private static final Duration DEFAULT_TOKEN_EXPIRATION_REDUCTION = Duration.ofSeconds(1);
+    private static final double DEFAULT_REFRESH_RATIO = 0.8;
 
     private final String clientId;
     private final String clientSecret;
     private final String scope;
     private final Duration tokenExpirationReduction;
+    private final double refreshRatio;
 
-    private String cachedAccessToken;
-    private Instant cachedAccessTokenExp;
+    private final AtomicReference<AccessToken> accessToken = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<AccessToken>> pendingRefresh = new AtomicReference<>();
+    private final ScheduledExecutorService refreshExecutor;
 
     private final ApicurioHttpClient apicurioHttpClient;
+    private volatile ClientMetrics clientMetrics = ClientMetrics.NOOP;
 
     public OidcAuth(ApicurioHttpClient httpClient, String clientId, String clientSecret) {
         this(httpClient, clientId, clientSecret, DEFAULT_TOKEN_EXPIRATION_REDUCTION);
     }
 
     public OidcAuth(ApicurioHttpClient httpClient, String clientId, String clientSecret, Duration tokenExpirationReduction) {
-        this(httpClient, clientId, clientSecret, DEFAULT_TOKEN_EXPIRATION_REDUCTION, null);
+        this(httpClient, clientId, clientSecret, tokenExpirationReduction, null);
     }
 
     public OidcAuth(ApicurioHttpClient httpClient, String clientId, String clientSecret, Duration tokenExpirationReduction, String scope) {
+        this(httpClient, clientId, clientSecret, tokenExpirationReduction, scope, DEFAULT_REFRESH_RATIO, false);
+    }
+
+    private OidcAuth(ApicurioHttpClient httpClient, String clientId, String clientSecret, Duration tokenExpirationReduction, String scope,
+                     double refreshRatio, boolean backgroundRefresh) {
+        if (refreshRatio <= 0 || refreshRatio > 1) {
+            throw new IllegalArgumentException("The token refresh ratio must be greater than 0 and at most 1, got " + refreshRatio);
+        }
         this.clientId = clientId;
         this.clientSecret = clientSecret;
         this.apicurioHttpClient = httpClient;
         this.scope = scope;
+        this.refreshRatio = refreshRatio;
         if (null == tokenExpirationReduction) {
             this.tokenExpirationReduction = DEFAULT_TOKEN_EXPIRATION_REDUCTION;
         } else {
             this.tokenExpirationReduction = tokenExpirationReduction;
         }
+        this.refreshExecutor = backgroundRefresh ? Executors.newSingleThreadScheduledExecutor(task -> {
+            final Thread thread = new Thread(task, "apicurio-oidc-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
     }
 
     /**
@@ -75,48 +109,162 @@ public class OidcAuth implements Auth, AutoCloseable {
      */
     @Override
     public void apply(Map<String, String> requestHeaders) {
-        if (isAccessTokenRequired()) {
-            requestAccessToken();
+        requestHeaders.put("Authorization", currentAccessToken().header);
+    }
+
+    private AccessToken currentAccessToken() {
+        final AccessToken token = accessToken.get();
+        final Instant now = Instant.now();
+        if (token == null || now.isAfter(token.expiresAt)) {
+            return await(refreshAccessToken(false));
+        }
+        if (now.isAfter(token.refreshAt) && pendingRefresh.get() == null) {
+            //the token is still valid, it is used while the new one is requested, a failed proactive refresh
+            //is retried by a later call
+            refreshAccessToken(true);
+        }
+        return token;
+    }
+
+    /**
+     * Starts a token request unless one is already in flight, in which case the in flight one is returned.
+     *
+     * @param async whether the token is requested without holding the calling thread, on the background thread
+     * if enabled or else with an asynchronous request
+     */
+    private CompletableFuture<AccessToken> refreshAccessToken(boolean async) {
+        while (true) {
+            final CompletableFuture<AccessToken> pending = pendingRefresh.get();
+            if (pending != null) {
+                return pending;
+            }
+            final CompletableFuture<AccessToken> refresh = new CompletableFuture<>();
+            if (pendingRefresh.compareAndSet(null, refresh)) {
+                if (!async) {
+                    runRefresh(refresh);
+                } else if (refreshExecutor != null) {
+                    try {
+                        refreshExecutor.execute(() -> runRefresh(refresh));
+                    } catch (RejectedExecutionException e) {
+                        runRefresh(refresh);
+                    }
+                } else {
+                    requestAccessTokenAsync().whenComplete((token, failure) -> completeRefresh(refresh, token, failure));
+                }
+                return refresh;
+            }
         }
-        requestHeaders.put("Authorization", BEARER + cachedAccessToken);
     }
 
-    private void requestAccessToken() {
+    private void runRefresh(CompletableFuture<AccessToken> refresh) {
+        AccessToken token = null;
+        Throwable failure = null;
         try {
-            final Map<String, String> params = new HashMap<>();
-            params.put("grant_type", CLIENT_CREDENTIALS_GRANT);
-            params.put("client_id", clientId);
-            params.put("client_secret", clientSecret);
+            token = requestAccessToken();
+        } catch (Throwable e) {
+            failure = e;
+        }
+        completeRefresh(refresh, token, failure);
+    }
 
-            if (scope != null) {
-                params.put("scope", scope);
-            }
+    private void completeRefresh(CompletableFuture<AccessToken> refresh, AccessToken token, Throwable failure) {
+        if (failure != null) {
+            pendingRefresh.set(null);
+            refresh.completeExceptionally(failure);
+            return;
+        }
+        accessToken.set(token);
+        pendingRefresh.set(null);
+        refresh.complete(token);
+        scheduleRefresh(token);
+    }
 
-            final String paramsEncoded = params.entrySet().stream().map(entry -> String.join("=",
-                    URLEncoder.encode(entry.getKey(), UTF_8),
-                    URLEncoder.encode(entry.getValue(), UTF_8))
-            ).collect(Collectors.joining("&"));
-            final AccessTokenResponse accessTokenResponse = apicurioHttpClient.sendRequest(TokenRequestsProvider.obtainAccessToken(paramsEncoded));
-            this.cachedAccessToken = accessTokenResponse.getToken();
-            /*
-              expiresIn is in seconds
-             */
-            Duration expiresIn = Duration.ofSeconds(accessTokenResponse.getExpiresIn());
-            if (expiresIn.compareTo(this.tokenExpirationReduction) > 0) {
-                //expiresIn is greater than tokenExpirationReduction
-                expiresIn = expiresIn.minus(this.tokenExpirationReduction);
+    private void scheduleRefresh(AccessToken token) {
+        if (refreshExecutor == null) {
+            return;
+        }
+        final long delay = Math.max(0, Duration.between(Instant.now(), token.refreshAt).toMillis());
+        try {
+            refreshExecutor.schedule(() -> {
+                //skipped if the token has already been renewed in the meantime
+                if (accessToken.get() == token) {
+                    refreshAccessToken(false);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ignored) {
+            //closed
+        }
+    }
+
+    private static AccessToken await(CompletableFuture<AccessToken> refresh) {
+        try {
+            return refresh.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-            this.cachedAccessTokenExp = Instant.now().plus(expiresIn);
+            throw e;
+        }
+    }
+
+    private AccessToken requestAccessToken() {
+        try {
+            final Instant requestedAt = Instant.now();
+            return accessToken(sendTokenRequest(clientCredentialsParams()), requestedAt);
         } catch (JsonProcessingException e) {
             throw new IllegalStateException("Error found while trying to request a new token");
         }
     }
 
-    public String authenticate() {
-        if (isAccessTokenRequired()) {
-            requestAccessToken();
+    private CompletableFuture<AccessToken> requestAccessTokenAsync() {
+        final Instant requestedAt = Instant.now();
+        final long start = System.nanoTime();
+        CompletableFuture<AccessTokenResponse> response;
+        try {
+            response = apicurioHttpClient.sendRequestAsync(TokenRequestsProvider.obtainAccessToken(clientCredentialsParams())).toCompletableFuture();
+        } catch (JsonProcessingException e) {
+            response = CompletableFuture.failedFuture(new IllegalStateException("Error found while trying to request a new token"));
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
         }
-        return cachedAccessToken;
+        return response
+                .whenComplete((accessTokenResponse, failure) -> clientMetrics.tokenRequested(System.nanoTime() - start, failure == null))
+                .thenApply(accessTokenResponse -> accessToken(accessTokenResponse, requestedAt));
+    }
+
+    private String clientCredentialsParams() {
+        final Map<String, String> params = new HashMap<>();
+        params.put("grant_type", CLIENT_CREDENTIALS_GRANT);
+        params.put("client_id", clientId);
+        params.put("client_secret", clientSecret);
+
+        if (scope != null) {
+            params.put("scope", scope);
+        }
+
+        return params.entrySet().stream().map(entry -> String.join("=",
+                URLEncoder.encode(entry.getKey(), UTF_8),
+                URLEncoder.encode(entry.getValue(), UTF_8))
+        ).collect(Collectors.joining("&"));
+    }
+
+    private AccessToken accessToken(AccessTokenResponse accessTokenResponse, Instant requestedAt) {
+        /*
+          expiresIn is in seconds
+         */
+        final Duration lifetime = Duration.ofSeconds(accessTokenResponse.getExpiresIn());
+        Duration expiresIn = lifetime;
+        if (expiresIn.compareTo(this.tokenExpirationReduction) > 0) {
+            //expiresIn is greater than tokenExpirationReduction
+            expiresIn = expiresIn.minus(this.tokenExpirationReduction);
+        }
+        final Instant expiresAt = requestedAt.plus(expiresIn);
+        final Instant refreshAt = requestedAt.plusMillis((long) (lifetime.toMillis() * refreshRatio));
+        return new AccessToken(accessTokenResponse.getToken(), expiresAt, refreshAt.isBefore(expiresAt) ? refreshAt : expiresAt);
+    }
+
+    public String authenticate() {
+        return currentAccessToken().token;
     }
 
     public String obtainAccessTokenPasswordGrant(String username, String password) {
@@ -127,23 +275,108 @@ public class OidcAuth implements Auth, AutoCloseable {
                     URLEncoder.encode(entry.getValue(), UTF_8))
             ).collect(Collectors.joining("&"));
 
-            return apicurioHttpClient.sendRequest(TokenRequestsProvider.obtainAccessToken(paramsEncoded)).getToken();
+            return sendTokenRequest(paramsEncoded).getToken();
 
         } catch (JsonProcessingException e) {
             throw new IllegalStateException("Error found while trying to request a new token");
         }
     }
 
-    private boolean isAccessTokenRequired() {
-        return null == cachedAccessToken || isTokenExpired();
+    private AccessTokenResponse sendTokenRequest(String paramsEncoded) throws JsonProcessingException {
+        final long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            final AccessTokenResponse accessTokenResponse = apicurioHttpClient.sendRequest(TokenRequestsProvider.obtainAccessToken(paramsEncoded));
+            succeeded = true;
+            return accessTokenResponse;
+        } finally {
+            clientMetrics.tokenRequested(System.nanoTime() - start, succeeded);
+        }
     }
 
-    private boolean isTokenExpired() {
-        return Instant.now().isAfter(this.cachedAccessTokenExp);
+    /**
+     * @param clientMetrics metrics notified of the duration and outcome of every token request
+     */
+    public void setClientMetrics(ClientMetrics clientMetrics) {
+        this.clientMetrics = clientMetrics == null ? ClientMetrics.NOOP : clientMetrics;
     }
 
     @Override
     public void close() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
         this.apicurioHttpClient.close();
     }
+
+    public static OidcAuthBuilder builder(ApicurioHttpClient httpClient, String clientId, String clientSecret) {
+        return new OidcAuthBuilder(httpClient, clientId, clientSecret);
+    }
+
+    /**
+     * Immutable token, published atomically so that a token is never seen without its expiration.
+     */
+    private static final class AccessToken {
+        private final String token;
+        private final String header;
+        private final Instant expiresAt;
+        private final Instant refreshAt;
+
+        private AccessToken(String token, Instant expiresAt, Instant refreshAt) {
+            this.token = token;
+            this.header = BEARER + token;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+    }
+
+    public static class OidcAuthBuilder {
+        private final ApicurioHttpClient httpClient;
+        private final String clientId;
+        private final String clientSecret;
+        private Duration tokenExpirationReduction = DEFAULT_TOKEN_EXPIRATION_REDUCTION;
+        private String scope;
+        private double refreshRatio = DEFAULT_REFRESH_RATIO;
+        private boolean backgroundRefresh;
+
+        private OidcAuthBuilder(ApicurioHttpClient httpClient, String clientId, String clientSecret) {
+            this.httpClient = httpClient;
+            this.clientId = clientId;
+            this.clientSecret = clientSecret;
+        }
+
+        /**
+         * Time before the token expiration at which the token is no longer used.
+         */
+        public OidcAuthBuilder tokenExpirationReduction(Duration tokenExpirationReduction) {
+            this.tokenExpirationReduction = tokenExpirationReduction;
+            return this;
+        }
+
+        public OidcAuthBuilder scope(String scope) {
+            this.scope = scope;
+            return this;
+        }
+
+        /**
+         * Fraction of the token lifetime after which a new token is requested, 0.8 by default. A ratio of 1
+         * disables the proactive refresh.
+         */
+        public OidcAuthBuilder refreshRatio(double refreshRatio) {
+            this.refreshRatio = refreshRatio;
+            return this;
+        }
+
+        /**
+         * When enabled, tokens are renewed by a background thread, stopped by {@link OidcAuth#close()}.
+         */
+        public OidcAuthBuilder backgroundRefresh(boolean backgroundRefresh) {
+            this.backgroundRefresh = backgroundRefresh;
+            return this;
+        }
+
+        public OidcAuth build() {
+            return new OidcAuth(httpClient, clientId, clientSecret, tokenExpirationReduction, scope, refreshRatio, backgroundRefresh);
+        }
+    }
 }
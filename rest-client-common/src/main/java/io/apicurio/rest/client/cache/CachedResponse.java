@@ -0,0 +1,41 @@
+package io.apicurio.rest.client.cache;
+
+/**
+ * Immutable snapshot of a cached response body together with the validators used to revalidate it.
+ */
+public class CachedResponse {
+
+    private final byte[] body;
+    private final String etag;
+    private final String lastModified;
+    private final long expiresAtNanos;
+
+    CachedResponse(byte[] body, String etag, String lastModified, long expiresAtNanos) {
+        this.body = body;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * @return the cached body, must not be modified by the caller
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getETag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return true if the entry can be used without revalidating it with the server
+     */
+    public boolean isFresh() {
+        return expiresAtNanos - System.nanoTime() > 0;
+    }
+}
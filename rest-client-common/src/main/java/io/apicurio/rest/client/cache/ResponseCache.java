@@ -0,0 +1,239 @@
+package io.apicurio.rest.client.cache;
+
+import io.apicurio.rest.client.config.ApicurioClientConfig;
+import io.apicurio.rest.client.request.RequestKey;
+import io.apicurio.rest.client.util.ConfigUtil;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of GET response bodies. Freshness is driven by the {@code Cache-Control} max-age directive,
+ * stale entries carrying an {@code ETag} or {@code Last-Modified} validator are revalidated with a conditional
+ * request so that a {@code 304 Not Modified} response can be served from the cache.
+ * <p>
+ * The key includes every header of the request, {@code Authorization} included, so that a response fetched
+ * with one credential is never served to a request carrying another one, which requests can set on their own.
+ */
+public class ResponseCache {
+
+    public static final String ETAG = "ETag";
+    public static final String LAST_MODIFIED = "Last-Modified";
+    public static final String CACHE_CONTROL = "Cache-Control";
+    public static final String IF_NONE_MATCH = "If-None-Match";
+    public static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    public static final int NOT_MODIFIED = 304;
+
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final int DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+
+    private final int maxEntrySize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, CachedResponse> entries;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong revalidationCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public ResponseCache(int maxEntries, int maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                if (size() > maxEntries) {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the cache described by the client configuration, or null if caching is not enabled
+     */
+    public static ResponseCache fromConfig(Map<String, Object> configs) {
+        if (!ConfigUtil.toBoolean(configs.get(ApicurioClientConfig.APICURIO_REQUEST_CACHE_ENABLED))) {
+            return null;
+        }
+        Integer maxEntries = ConfigUtil.getInteger(configs, ApicurioClientConfig.APICURIO_REQUEST_CACHE_MAX_ENTRIES);
+        Integer maxEntrySize = ConfigUtil.getInteger(configs, ApicurioClientConfig.APICURIO_REQUEST_CACHE_MAX_ENTRY_SIZE);
+        return new ResponseCache(maxEntries == null ? DEFAULT_MAX_ENTRIES : maxEntries,
+                maxEntrySize == null ? DEFAULT_MAX_ENTRY_SIZE : maxEntrySize);
+    }
+
+    /**
+     * Builds the cache key of a request from its absolute uri and its headers.
+     */
+    public static String createKey(String uri, Iterable<Map.Entry<String, String>> headers) {
+        return RequestKey.of(uri, headers);
+    }
+
+    /**
+     * Looks up an entry. A fresh entry counts as a hit, anything else as a miss.
+     *
+     * @return the cached entry, possibly stale, or null
+     */
+    public CachedResponse get(String key) {
+        final CachedResponse cached;
+        lock.lock();
+        try {
+            cached = entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+        if (cached != null && cached.isFresh()) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return cached;
+    }
+
+    /**
+     * Adds the validators of a stale entry to the outgoing request.
+     */
+    public static void addConditionalHeaders(CachedResponse cached, BiConsumer<String, String> headers) {
+        if (cached.getETag() != null) {
+            headers.accept(IF_NONE_MATCH, cached.getETag());
+        }
+        if (cached.getLastModified() != null) {
+            headers.accept(IF_MODIFIED_SINCE, cached.getLastModified());
+        }
+    }
+
+    /**
+     * Stores a successful response if its headers allow it.
+     *
+     * @param headers lookup of the response headers, returning null for absent headers
+     */
+    public void store(String key, Function<String, String> headers, byte[] body) {
+        if (body == null || body.length > maxEntrySize) {
+            return;
+        }
+        final CachedResponse cached = newEntry(headers, body, null);
+        lock.lock();
+        try {
+            if (cached == null) {
+                entries.remove(key);
+            } else {
+                entries.put(key, cached);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Refreshes a stale entry after the server answered a conditional request with 304.
+     *
+     * @return the entry whose body has to be used as the response
+     */
+    public CachedResponse revalidated(String key, CachedResponse cached, Function<String, String> headers) {
+        revalidationCount.incrementAndGet();
+        final CachedResponse refreshed = newEntry(headers, cached.getBody(), cached);
+        lock.lock();
+        try {
+            if (refreshed == null) {
+                entries.remove(key);
+            } else {
+                entries.put(key, refreshed);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return refreshed == null ? cached : refreshed;
+    }
+
+    private static CachedResponse newEntry(Function<String, String> headers, byte[] body, CachedResponse previous) {
+        long maxAgeSeconds = 0;
+        boolean noCache = false;
+        final String cacheControl = headers.apply(CACHE_CONTROL);
+        if (cacheControl != null) {
+            for (String directive : cacheControl.split(",")) {
+                directive = directive.trim().toLowerCase(Locale.ROOT);
+                if (directive.equals("no-store")) {
+                    return null;
+                } else if (directive.equals("no-cache")) {
+                    noCache = true;
+                } else if (directive.startsWith("max-age=")) {
+                    try {
+                        maxAgeSeconds = Math.max(0, Long.parseLong(directive.substring("max-age=".length()).replace("\"", "")));
+                    } catch (NumberFormatException e) {
+                        maxAgeSeconds = 0;
+                    }
+                }
+            }
+        }
+        if (noCache) {
+            maxAgeSeconds = 0;
+        }
+
+        String etag = headers.apply(ETAG);
+        String lastModified = headers.apply(LAST_MODIFIED);
+        if (previous != null) {
+            etag = etag == null ? previous.getETag() : etag;
+            lastModified = lastModified == null ? previous.getLastModified() : lastModified;
+        }
+        if (maxAgeSeconds == 0 && etag == null && lastModified == null) {
+            //could neither be served nor revalidated
+            return null;
+        }
+        return new CachedResponse(body, etag, lastModified, System.nanoTime() + TimeUnit.SECONDS.toNanos(maxAgeSeconds));
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of lookups served from a fresh entry
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return number of lookups that required a request to the server
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return number of stale entries revalidated by a 304 response
+     */
+    public long getRevalidationCount() {
+        return revalidationCount.get();
+    }
+
+    /**
+     * @return number of entries evicted to honor the max entries limit
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+}
@@ -0,0 +1,215 @@
+package io.apicurio.rest.client.circuitbreaker;
+
+import io.apicurio.rest.client.config.ApicurioClientConfig;
+import io.apicurio.rest.client.util.ConfigUtil;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Circuit breaker over a sliding window of the outcomes of the last requests. Closed, every request is
+ * permitted. Open, requests are rejected until the open duration elapsed, then the breaker is half-open and
+ * permits a few trial requests: it closes again once all of them succeeded, or opens again on the first failure.
+ * <p>
+ * Outcomes are recorded by {@link CircuitBreakerHttpClient}, or by the caller of {@link #tryAcquirePermission()}
+ * with {@link #onSuccess()} and {@link #onFailure()}.
+ *
+ * @see ApicurioClientConfig#APICURIO_CLIENT_CIRCUIT_BREAKER_PREFIX
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Notified of the state changes of a circuit breaker, on the thread recording the outcome that caused them.
+     */
+    public interface Listener {
+        void onStateChange(CircuitBreaker circuitBreaker, State from, State to);
+    }
+
+    private static final int DEFAULT_WINDOW_SIZE = 20;
+    private static final int DEFAULT_MINIMUM_CALLS = 10;
+    private static final int DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+    private static final long DEFAULT_OPEN_DURATION = 30_000;
+    private static final int DEFAULT_HALF_OPEN_CALLS = 3;
+
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    //state is read without locking by permit(), all the other fields are guarded by the lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile State state = State.CLOSED;
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    private long openedAt;
+    private int halfOpenPermitted;
+    private int halfOpenSucceeded;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold, long openDurationMillis, int halfOpenCalls) {
+        if (windowSize < 1 || minimumCalls < 1 || failureRateThreshold < 1 || failureRateThreshold > 100 || openDurationMillis < 0 || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Invalid circuit breaker settings, window size, minimum and half-open calls must be positive"
+                    + " and the failure rate threshold a percentage");
+        }
+        this.name = name;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMillis);
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * @return the circuit breaker described by the client configuration, or null if it is not enabled
+     */
+    public static CircuitBreaker fromConfig(String name, Map<String, Object> configs) {
+        if (!ConfigUtil.toBoolean(configs.get(ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_ENABLED))) {
+            return null;
+        }
+        final Integer windowSize = ConfigUtil.getInteger(configs, ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_WINDOW_SIZE);
+        final Integer minimumCalls = ConfigUtil.getInteger(configs, ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_MINIMUM_CALLS);
+        final Integer failureRateThreshold = ConfigUtil.getInteger(configs, ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD);
+        final Long openDuration = ConfigUtil.getLong(configs, ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_OPEN_DURATION);
+        final Integer halfOpenCalls = ConfigUtil.getInteger(configs, ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_HALF_OPEN_CALLS);
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(name,
+                windowSize == null ? DEFAULT_WINDOW_SIZE : windowSize,
+                minimumCalls == null ? DEFAULT_MINIMUM_CALLS : minimumCalls,
+                failureRateThreshold == null ? DEFAULT_FAILURE_RATE_THRESHOLD : failureRateThreshold,
+                openDuration == null ? DEFAULT_OPEN_DURATION : openDuration,
+                halfOpenCalls == null ? DEFAULT_HALF_OPEN_CALLS : halfOpenCalls);
+        final Object listener = configs.get(ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_LISTENER);
+        if (listener instanceof Listener) {
+            circuitBreaker.addListener((Listener) listener);
+        } else if (listener != null) {
+            throw new IllegalArgumentException("Invalid value " + listener + " for config " + ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_LISTENER
+                    + ", a CircuitBreaker.Listener is expected");
+        }
+        return circuitBreaker;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @return true if a request may be sent, in which case its outcome must be recorded
+     */
+    public boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        State from = null;
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openDurationNanos) {
+                    return false;
+                }
+                from = transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermitted >= halfOpenCalls) {
+                    return false;
+                }
+                halfOpenPermitted++;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+            notifyListeners(from, State.HALF_OPEN);
+        }
+    }
+
+    public void onSuccess() {
+        record(false);
+    }
+
+    public void onFailure() {
+        record(true);
+    }
+
+    private void record(boolean failure) {
+        State from = null;
+        State to = null;
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED:
+                    if (windowCalls == window.length) {
+                        windowFailures -= window[windowIndex] ? 1 : 0;
+                    } else {
+                        windowCalls++;
+                    }
+                    window[windowIndex] = failure;
+                    windowFailures += failure ? 1 : 0;
+                    windowIndex = (windowIndex + 1) % window.length;
+                    if (windowCalls >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCalls) {
+                        to = State.OPEN;
+                    }
+                    break;
+                case HALF_OPEN:
+                    if (failure) {
+                        to = State.OPEN;
+                    } else if (++halfOpenSucceeded >= halfOpenCalls) {
+                        to = State.CLOSED;
+                    }
+                    break;
+                default:
+                    //outcome of a request permitted before the breaker opened
+                    break;
+            }
+            if (to != null) {
+                from = transitionTo(to);
+            }
+        } finally {
+            lock.unlock();
+            notifyListeners(from, to);
+        }
+    }
+
+    private State transitionTo(State to) {
+        final State from = state;
+        state = to;
+        windowIndex = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+        halfOpenPermitted = 0;
+        halfOpenSucceeded = 0;
+        if (to == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        return from;
+    }
+
+    private void notifyListeners(State from, State to) {
+        if (from == null) {
+            return;
+        }
+        for (Listener listener : listeners) {
+            listener.onStateChange(this, from, to);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker[" + name + ", " + state + "]";
+    }
+}
@@ -0,0 +1,120 @@
+package io.apicurio.rest.client.circuitbreaker;
+
+import io.apicurio.rest.client.error.ApicurioRestClientException;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.request.RequestResult;
+import io.apicurio.rest.client.spi.ApicurioHttpClient;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Decorator rejecting the requests while its {@link CircuitBreaker} is open, and recording the outcome of the
+ * requests it sends in the circuit breaker. Server failures are told apart from client errors: requests ending
+ * without a response or with a 5xx status are failures, any other response is a success.
+ */
+public class CircuitBreakerHttpClient implements ApicurioHttpClient {
+
+    private final ApicurioHttpClient delegate;
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakerHttpClient(ApicurioHttpClient delegate, CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public <T> T sendRequest(Request<T> request) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw rejected();
+        }
+        final T result;
+        try {
+            result = delegate.sendRequest(request);
+        } catch (RuntimeException | Error e) {
+            record(e);
+            throw e;
+        }
+        circuitBreaker.onSuccess();
+        return result;
+    }
+
+    @Override
+    public <T> CompletionStage<T> sendRequestAsync(Request<T> request) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(rejected());
+        }
+        final CompletionStage<T> result;
+        try {
+            result = delegate.sendRequestAsync(request);
+        } catch (RuntimeException e) {
+            record(e);
+            return CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, failure) -> {
+            if (failure == null) {
+                circuitBreaker.onSuccess();
+            } else {
+                record(failure);
+            }
+        });
+    }
+
+    @Override
+    public List<RequestResult<?>> sendRequests(List<? extends Request<?>> requests, int maxConcurrency) {
+        //the requests are sent through this client, the delegate only checks that the calling thread may block,
+        //an event loop for instance, as its own batches do
+        delegate.sendRequests(Collections.emptyList(), maxConcurrency);
+        return ApicurioHttpClient.super.sendRequests(requests, maxConcurrency);
+    }
+
+    private void record(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof ApicurioRestClientException && ((ApicurioRestClientException) cause).getStatusCode() >= 0) {
+            //an error response, only server errors count as failures
+            if (((ApicurioRestClientException) cause).getStatusCode() >= 500) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+        } else {
+            //no response, or one that could not be read
+            circuitBreaker.onFailure();
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private CircuitBreakerOpenException rejected() {
+        //the headers set for this request must not leak to the next one
+        delegate.setNextRequestHeaders(Collections.emptyMap());
+        return new CircuitBreakerOpenException(circuitBreaker.getName());
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @Override
+    @Deprecated
+    public void setNextRequestHeaders(Map<String, String> headers) {
+        delegate.setNextRequestHeaders(headers);
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
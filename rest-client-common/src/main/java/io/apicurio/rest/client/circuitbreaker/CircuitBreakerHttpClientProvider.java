@@ -0,0 +1,45 @@
+package io.apicurio.rest.client.circuitbreaker;
+
+import io.apicurio.rest.client.auth.Auth;
+import io.apicurio.rest.client.config.ApicurioClientConfig;
+import io.apicurio.rest.client.error.RestClientErrorHandler;
+import io.apicurio.rest.client.spi.ApicurioHttpClient;
+import io.apicurio.rest.client.spi.ApicurioHttpClientProvider;
+import io.apicurio.rest.client.util.ConfigUtil;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps the clients of another provider in a {@link CircuitBreakerHttpClient} when the circuit breaker is
+ * enabled in their configuration. Clients created for the same endpoint share the same circuit breaker,
+ * configured by the first of them.
+ * <pre>
+ * ApicurioHttpClientFactory.setProvider(new CircuitBreakerHttpClientProvider(new JdkHttpClientProvider()));
+ * </pre>
+ */
+public class CircuitBreakerHttpClientProvider implements ApicurioHttpClientProvider {
+
+    private final ApicurioHttpClientProvider delegate;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerHttpClientProvider(ApicurioHttpClientProvider delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ApicurioHttpClient create(String endpoint, Map<String, Object> configs, Auth auth, RestClientErrorHandler errorHandler) {
+        if (!ConfigUtil.toBoolean(configs.get(ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_ENABLED))) {
+            return delegate.create(endpoint, configs, auth, errorHandler);
+        }
+        final CircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(endpoint, name -> CircuitBreaker.fromConfig(name, configs));
+        return new CircuitBreakerHttpClient(delegate.create(endpoint, configs, auth, errorHandler), circuitBreaker);
+    }
+
+    /**
+     * @return the circuit breaker of the endpoint, or null if no client with a circuit breaker was created for it
+     */
+    public CircuitBreaker getCircuitBreaker(String endpoint) {
+        return circuitBreakers.get(endpoint);
+    }
+}
@@ -0,0 +1,22 @@
+package io.apicurio.rest.client.circuitbreaker;
+
+import io.apicurio.rest.client.error.ApicurioRestClientException;
+
+/**
+ * Thrown instead of sending a request while the circuit breaker of its endpoint is open.
+ */
+public class CircuitBreakerOpenException extends ApicurioRestClientException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String circuitBreakerName;
+
+    public CircuitBreakerOpenException(String circuitBreakerName) {
+        super("Circuit breaker " + circuitBreakerName + " is open, the request was not sent");
+        this.circuitBreakerName = circuitBreakerName;
+    }
+
+    public String getCircuitBreakerName() {
+        return circuitBreakerName;
+    }
+}
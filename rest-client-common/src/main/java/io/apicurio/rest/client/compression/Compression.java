@@ -0,0 +1,139 @@
+package io.apicurio.rest.client.compression;
+
+import io.apicurio.rest.client.config.ApicurioClientConfig;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.util.ConfigUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression of the exchanges of a client: whether the responses are requested compressed, and which request
+ * bodies are sent gzip compressed.
+ *
+ * @see ApicurioClientConfig#APICURIO_REQUEST_COMPRESSION_PREFIX
+ */
+public final class Compression {
+
+    public static final String ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    /**
+     * Value of the Accept-Encoding header for the encodings {@link #decode(InputStream, String)} supports.
+     */
+    public static final String SUPPORTED_ENCODINGS = GZIP + ", " + DEFLATE;
+
+    public static final Compression NONE = new Compression(false, -1);
+
+    private final boolean responseCompression;
+    private final long requestMinSize;
+
+    private Compression(boolean responseCompression, long requestMinSize) {
+        this.responseCompression = responseCompression;
+        this.requestMinSize = requestMinSize;
+    }
+
+    /**
+     * @return the compression described by the client configuration, {@link #NONE} if it is not enabled
+     */
+    public static Compression fromConfig(Map<String, Object> configs) {
+        final boolean responseCompression = ConfigUtil.toBoolean(configs.get(ApicurioClientConfig.APICURIO_REQUEST_COMPRESSION_ENABLED));
+        final Long requestMinSize = ConfigUtil.getLong(configs, ApicurioClientConfig.APICURIO_REQUEST_COMPRESSION_REQUEST_MIN_SIZE);
+        if (requestMinSize != null && requestMinSize < 0) {
+            throw new IllegalArgumentException("Invalid request compression min size " + requestMinSize + ", it must not be negative");
+        }
+        if (!responseCompression && requestMinSize == null) {
+            return NONE;
+        }
+        return new Compression(responseCompression, requestMinSize == null ? -1 : requestMinSize);
+    }
+
+    /**
+     * @return true if the responses are requested compressed
+     */
+    public boolean isResponseCompressionEnabled() {
+        return responseCompression;
+    }
+
+    /**
+     * @return true if the body of the request is to be sent gzip compressed: a PUT or POST body, not encoded
+     * already, whose size is unknown or at least the configured minimum, string bodies being measured in chars
+     */
+    public boolean compressesRequestBody(Request<?> request) {
+        if (requestMinSize < 0 || (request.getOperation() != Operation.PUT && request.getOperation() != Operation.POST)
+                || request.getHeaders().containsKey(CONTENT_ENCODING)) {
+            return false;
+        }
+        if (request.getDataString() != null) {
+            return request.getDataString().length() >= requestMinSize;
+        }
+        return request.getData() != null && (request.getDataLength() < 0 || request.getDataLength() >= requestMinSize);
+    }
+
+    /**
+     * @return the gzip compressed content
+     */
+    public static byte[] gzip(byte[] content) {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * @return a stream of the gzip compressed content of the given stream, compressed as it is read
+     */
+    public static InputStream gzip(InputStream content) {
+        return new GzipCompressingInputStream(content);
+    }
+
+    /**
+     * @param contentEncoding the Content-Encoding header of a response, or null
+     * @return a stream of the decoded body
+     * @throws IOException if the encoding is not supported
+     */
+    public static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        if (!isEncoded(contentEncoding)) {
+            return body;
+        }
+        switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case GZIP:
+            case "x-gzip":
+                return new GZIPInputStream(body);
+            case DEFLATE:
+                return new InflaterInputStream(body);
+            default:
+                throw new IOException("Unsupported response content encoding " + contentEncoding);
+        }
+    }
+
+    public static byte[] decode(byte[] body, String contentEncoding) throws IOException {
+        if (!isEncoded(contentEncoding)) {
+            return body;
+        }
+        try (InputStream in = decode(new ByteArrayInputStream(body), contentEncoding)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * @return true if a response with this Content-Encoding header needs to be decoded
+     */
+    public static boolean isEncoded(String contentEncoding) {
+        return contentEncoding != null && !contentEncoding.isBlank() && !"identity".equalsIgnoreCase(contentEncoding.trim());
+    }
+}
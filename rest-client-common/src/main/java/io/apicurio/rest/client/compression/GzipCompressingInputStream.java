@@ -0,0 +1,91 @@
+package io.apicurio.rest.client.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterInputStream;
+
+/**
+ * Reads the gzip compressed content of another stream, compressing it as it is read so that large request
+ * bodies are never held in memory, unlike {@link java.util.zip.GZIPOutputStream} which would need a pipe.
+ */
+class GzipCompressingInputStream extends InputStream {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int TRAILER_SIZE = 8;
+
+    private final CheckedInputStream source;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final DeflaterInputStream deflated;
+    //header or trailer bytes left to return, the deflated content is read in between
+    private byte[] pending = HEADER;
+    private int pendingIndex;
+    private boolean trailerPending;
+
+    GzipCompressingInputStream(InputStream source) {
+        this.source = new CheckedInputStream(source, new CRC32());
+        this.deflated = new DeflaterInputStream(this.source, deflater);
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] single = new byte[1];
+        final int read = read(single, 0, 1);
+        return read == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        while (true) {
+            if (pending != null) {
+                if (pendingIndex < pending.length) {
+                    final int read = Math.min(len, pending.length - pendingIndex);
+                    System.arraycopy(pending, pendingIndex, b, off, read);
+                    pendingIndex += read;
+                    return read;
+                }
+                if (trailerPending) {
+                    return -1;
+                }
+                pending = null;
+            }
+            final int read = deflated.read(b, off, len);
+            if (read != -1) {
+                return read;
+            }
+            pending = trailer();
+            pendingIndex = 0;
+            trailerPending = true;
+        }
+    }
+
+    private byte[] trailer() {
+        final byte[] trailer = new byte[TRAILER_SIZE];
+        writeIntLe(trailer, 0, source.getChecksum().getValue());
+        writeIntLe(trailer, 4, deflater.getBytesRead());
+        return trailer;
+    }
+
+    private static void writeIntLe(byte[] target, int offset, long value) {
+        for (int i = 0; i < 4; i++) {
+            target[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            deflated.close();
+        } finally {
+            //the deflater is not ended by the stream as it was given to it
+            deflater.end();
+        }
+    }
+}
@@ -15,5 +15,144 @@ public class ApicurioClientConfig {
     public static final String APICURIO_REQUEST_KEY_PASSWORD = "apicurio.rest.request.ssl.key.password";
     public static final String APICURIO_CLIENT_DISABLE_AUTO_BASE_PATH_APPEND = "apicurio.rest.client.disable-auto-basepath-append";
     public static final String APICURIO_CLIENT_AUTO_BASE_PATH = "apicurio.rest.client.auto-base-path";
+    /**
+     * {@code ObjectMapper} or {@code JsonCodec} instance used to read response bodies instead of the shared
+     * default one. A provided mapper is used as is and must not be reconfigured once the client is created.
+     */
+    public static final String APICURIO_CLIENT_OBJECT_MAPPER = "apicurio.rest.client.object-mapper";
+    /**
+     * {@code ClientMetrics} instance notified of every request sent by the client, metrics are not recorded by default.
+     */
+    public static final String APICURIO_CLIENT_METRICS = "apicurio.rest.client.metrics";
+
+    /**
+     * When {@code true} and running on Java 21 or later, the JDK http client runs its exchanges and response
+     * handlers on virtual threads instead of its default cached pool of platform threads, the option is ignored
+     * on older versions. Blocking requests sent from virtual threads then park without pinning their carrier
+     * thread. Only honored by the JDK client, the Vert.x one runs on its event loops.
+     */
+    public static final String APICURIO_CLIENT_VIRTUAL_THREADS = "apicurio.rest.client.virtual-threads";
+
+    /**
+     * When {@code true} (default), the JDK clients configured with the same http version, connect timeout, TLS
+     * settings and virtual threads option share a single JDK http client, with its selector thread, connection
+     * pool and SSL context, which is released once the last of them is closed. TLS settings are compared by a
+     * digest of their values and of the contents of the stores, a client created after a store is replaced
+     * gets a new http client. Only honored by the JDK client.
+     */
+    public static final String APICURIO_CLIENT_SHARED_TRANSPORT = "apicurio.rest.client.shared-transport";
+
+    /**
+     * HTTP protocol version preferred by the client, either {@code HTTP_1_1} (default) or {@code HTTP_2}. With
+     * {@code HTTP_2} the version is negotiated using ALPN over TLS, or using an h2c upgrade over plain text, and
+     * the client falls back to HTTP/1.1 when the server does not support it.
+     */
+    public static final String APICURIO_REQUEST_HTTP_VERSION = "apicurio.rest.request.http.version";
+    /**
+     * When {@code true}, plain text HTTP/2 connections are opened with prior knowledge instead of an h2c upgrade.
+     * Only honored by clients whose transport supports it (the JDK http client always uses the upgrade).
+     */
+    public static final String APICURIO_REQUEST_HTTP2_PRIOR_KNOWLEDGE = "apicurio.rest.request.http2.prior-knowledge";
+
+    /**
+     * Connection pool and keep-alive settings. Durations are expressed in milliseconds for the connect timeout
+     * and in seconds for the keep-alive and idle timeouts. The JDK http client only exposes the pool size and the
+     * keep-alive timeout as JVM wide system properties, these are set from the config when not already defined and
+     * only take effect if no JDK http client has been created before: the first client to set them wins, and a
+     * warning is logged for the values ignored.
+     */
+    public static final String APICURIO_REQUEST_CONNECT_TIMEOUT = "apicurio.rest.request.connect-timeout";
+    public static final String APICURIO_REQUEST_POOL_PREFIX = "apicurio.rest.request.pool";
+    public static final String APICURIO_REQUEST_POOL_MAX_SIZE = APICURIO_REQUEST_POOL_PREFIX + ".max-size";
+    public static final String APICURIO_REQUEST_POOL_HTTP2_MAX_SIZE = APICURIO_REQUEST_POOL_PREFIX + ".http2-max-size";
+    public static final String APICURIO_REQUEST_POOL_MAX_WAIT_QUEUE_SIZE = APICURIO_REQUEST_POOL_PREFIX + ".max-wait-queue-size";
+    public static final String APICURIO_REQUEST_KEEP_ALIVE = "apicurio.rest.request.keep-alive";
+    public static final String APICURIO_REQUEST_KEEP_ALIVE_TIMEOUT = APICURIO_REQUEST_KEEP_ALIVE + ".timeout";
+    public static final String APICURIO_REQUEST_IDLE_TIMEOUT = "apicurio.rest.request.idle-timeout";
+    public static final String APICURIO_REQUEST_PIPELINING = "apicurio.rest.request.pipelining";
+    public static final String APICURIO_REQUEST_PIPELINING_LIMIT = APICURIO_REQUEST_PIPELINING + ".limit";
+
+    /**
+     * Timeouts of every request in milliseconds, none by default. They can be overridden per request with the
+     * {@code RequestBuilder}, as can the connect timeout above. read-timeout bounds the wait for the response to
+     * start with the JDK client, and the time without receiving any data with the Vert.x client. timeout is a
+     * deadline for the whole request, retries and reading the response included, except for responses returned
+     * as an {@code InputStream} which it only covers until they start. An expired exchange is aborted so that its
+     * connection does not stay busy. The JDK client ignores the connect timeout of a request and applies the
+     * client wide one.
+     */
+    public static final String APICURIO_REQUEST_READ_TIMEOUT = "apicurio.rest.request.read-timeout";
+    public static final String APICURIO_REQUEST_TIMEOUT = "apicurio.rest.request.timeout";
+
+    /**
+     * Client side cache for GET responses, disabled by default. Entries are evicted in LRU order once
+     * max-entries is reached and bodies larger than max-entry-size bytes are never stored.
+     */
+    public static final String APICURIO_REQUEST_CACHE_PREFIX = "apicurio.rest.request.cache";
+    public static final String APICURIO_REQUEST_CACHE_ENABLED = APICURIO_REQUEST_CACHE_PREFIX + ".enabled";
+    public static final String APICURIO_REQUEST_CACHE_MAX_ENTRIES = APICURIO_REQUEST_CACHE_PREFIX + ".max-entries";
+    public static final String APICURIO_REQUEST_CACHE_MAX_ENTRY_SIZE = APICURIO_REQUEST_CACHE_PREFIX + ".max-entry-size";
+
+    /**
+     * When enabled, concurrent identical GET requests share a single exchange and the same deserialized result,
+     * which callers must therefore not modify. Requests returning an InputStream are never coalesced.
+     */
+    public static final String APICURIO_REQUEST_COALESCING_ENABLED = "apicurio.rest.request.coalescing.enabled";
+
+    /**
+     * When enabled, response bodies are consumed as they arrive instead of being aggregated in memory. At most
+     * window-size bytes (64KiB by default) of a response are buffered before the connection is paused. The
+     * Vert.x client also consumes the responses of the requests with a timeout deadline this way, so that it can
+     * reset them when it expires.
+     */
+    public static final String APICURIO_REQUEST_STREAMING_PREFIX = "apicurio.rest.request.streaming";
+    public static final String APICURIO_REQUEST_STREAMING_ENABLED = APICURIO_REQUEST_STREAMING_PREFIX + ".enabled";
+    public static final String APICURIO_REQUEST_STREAMING_WINDOW_SIZE = APICURIO_REQUEST_STREAMING_PREFIX + ".window-size";
+
+    /**
+     * Compression of the exchanges, disabled by default. When enabled, the responses are requested with an
+     * Accept-Encoding header and decoded transparently: gzip and deflate with the JDK client, and brotli too with
+     * the Vert.x client when its native library is on the classpath. Setting request-min-size gzips the PUT and
+     * POST bodies of at least that many bytes, and the streamed ones of unknown length, which are then sent with
+     * a Content-Encoding header the server must support.
+     */
+    public static final String APICURIO_REQUEST_COMPRESSION_PREFIX = "apicurio.rest.request.compression";
+    public static final String APICURIO_REQUEST_COMPRESSION_ENABLED = APICURIO_REQUEST_COMPRESSION_PREFIX + ".enabled";
+    public static final String APICURIO_REQUEST_COMPRESSION_REQUEST_MIN_SIZE = APICURIO_REQUEST_COMPRESSION_PREFIX + ".request-min-size";
+
+    /**
+     * Retries of idempotent requests (GET, PUT and DELETE) failing to connect or answered with a 502, 503 or
+     * 504 status, or with a 429 status carrying a Retry-After header. Disabled by default. max-attempts counts
+     * the first attempt (3 by default). Retries wait a random delay between 0 and the exponential backoff,
+     * starting at initial-backoff and capped at max-backoff milliseconds (100 and 10000 by default), or the
+     * Retry-After delay when given. Each retry takes a token from a bucket of budget.max-tokens (10 by default)
+     * refilled by budget.token-ratio (0.1 by default) for every request that does not need a retry. A PUT
+     * streaming its data is sent again when the stream supports mark and its length is known and at most 1 MiB,
+     * otherwise it is only retried when it failed to connect before any data was read.
+     */
+    public static final String APICURIO_REQUEST_RETRY_PREFIX = "apicurio.rest.request.retry";
+    public static final String APICURIO_REQUEST_RETRY_ENABLED = APICURIO_REQUEST_RETRY_PREFIX + ".enabled";
+    public static final String APICURIO_REQUEST_RETRY_MAX_ATTEMPTS = APICURIO_REQUEST_RETRY_PREFIX + ".max-attempts";
+    public static final String APICURIO_REQUEST_RETRY_INITIAL_BACKOFF = APICURIO_REQUEST_RETRY_PREFIX + ".initial-backoff";
+    public static final String APICURIO_REQUEST_RETRY_MAX_BACKOFF = APICURIO_REQUEST_RETRY_PREFIX + ".max-backoff";
+    public static final String APICURIO_REQUEST_RETRY_BUDGET_MAX_TOKENS = APICURIO_REQUEST_RETRY_PREFIX + ".budget.max-tokens";
+    public static final String APICURIO_REQUEST_RETRY_BUDGET_TOKEN_RATIO = APICURIO_REQUEST_RETRY_PREFIX + ".budget.token-ratio";
+
+    /**
+     * Circuit breaker applied by {@code CircuitBreakerHttpClientProvider} to the clients it creates, one per
+     * endpoint. It opens once failure-rate-threshold percent (50 by default) of the last window-size requests
+     * (20 by default) failed, counting only windows of at least minimum-calls requests (10 by default). Requests
+     * failing without a response or with a 5xx status are failures. Once open, requests fail fast for
+     * open-duration milliseconds (30000 by default), then half-open-calls trial requests (3 by default) decide
+     * whether it closes again. The listener entry takes a {@code CircuitBreaker.Listener} instance.
+     */
+    public static final String APICURIO_CLIENT_CIRCUIT_BREAKER_PREFIX = "apicurio.rest.client.circuit-breaker";
+    public static final String APICURIO_CLIENT_CIRCUIT_BREAKER_ENABLED = APICURIO_CLIENT_CIRCUIT_BREAKER_PREFIX + ".enabled";
+    public static final String APICURIO_CLIENT_CIRCUIT_BREAKER_WINDOW_SIZE = APICURIO_CLIENT_CIRCUIT_BREAKER_PREFIX + ".window-size";
+    public static final String APICURIO_CLIENT_CIRCUIT_BREAKER_MINIMUM_CALLS = APICURIO_CLIENT_CIRCUIT_BREAKER_PREFIX + ".minimum-calls";
+    public static final String APICURIO_CLIENT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD = APICURIO_CLIENT_CIRCUIT_BREAKER_PREFIX + ".failure-rate-threshold";
+    public static final String APICURIO_CLIENT_CIRCUIT_BREAKER_OPEN_DURATION = APICURIO_CLIENT_CIRCUIT_BREAKER_PREFIX + ".open-duration";
+    public static final String APICURIO_CLIENT_CIRCUIT_BREAKER_HALF_OPEN_CALLS = APICURIO_CLIENT_CIRCUIT_BREAKER_PREFIX + ".half-open-calls";
+    public static final String APICURIO_CLIENT_CIRCUIT_BREAKER_LISTENER = APICURIO_CLIENT_CIRCUIT_BREAKER_PREFIX + ".listener";
 
 }
@@ -7,6 +7,8 @@ public abstract class ApicurioRestClientException extends RuntimeException {
 
     private static final long serialVersionUID = 1L;
 
+    private int statusCode = -1;
+
     public ApicurioRestClientException(String error) {
         super(error);
     }
@@ -14,4 +16,23 @@ public abstract class ApicurioRestClientException extends RuntimeException {
     public ApicurioRestClientException(Throwable throwable) {
         super(throwable);
     }
+
+    /**
+     * @return the status of the error response this exception was created for, or -1 if it was not created
+     * for a response
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Sets the status of the error response this exception was created for, done by the clients for the
+     * exceptions returned by {@link RestClientErrorHandler#handleErrorResponse(java.io.InputStream, int)}.
+     *
+     * @return this exception
+     */
+    public ApicurioRestClientException withStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+        return this;
+    }
 }
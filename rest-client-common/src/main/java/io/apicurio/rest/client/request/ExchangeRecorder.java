@@ -0,0 +1,72 @@
+package io.apicurio.rest.client.request;
+
+import io.apicurio.rest.client.spi.ClientMetrics;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects the outcome of a single request and reports it to the {@link ClientMetrics} once the request ends.
+ */
+public final class ExchangeRecorder {
+
+    private final ClientMetrics metrics;
+    private final Operation operation;
+    private final String pathTemplate;
+    private final long startNanos;
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    private volatile int statusCode = -1;
+    private volatile long requestBytes = -1;
+    private volatile long responseBytes = -1;
+
+    private ExchangeRecorder(ClientMetrics metrics, Request<?> request) {
+        this.metrics = metrics;
+        this.operation = request.getOperation();
+        this.pathTemplate = request.getRequestPath();
+        this.startNanos = System.nanoTime();
+    }
+
+    public static ExchangeRecorder start(ClientMetrics metrics, Request<?> request) {
+        final ExchangeRecorder recorder = new ExchangeRecorder(metrics, request);
+        metrics.requestStarted(recorder.operation, recorder.pathTemplate);
+        return recorder;
+    }
+
+    /**
+     * Records the response received from the server, byte counts are -1 when unknown.
+     */
+    public void response(int statusCode, long requestBytes, long responseBytes) {
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Reports the request, only the first call has an effect.
+     *
+     * @param failure the error the request ended with, or null
+     */
+    public void complete(Throwable failure) {
+        if (!completed.compareAndSet(false, true)) {
+            return;
+        }
+        final long duration = System.nanoTime() - startNanos;
+        final int status = statusCode;
+        if (status >= 0) {
+            metrics.requestCompleted(operation, pathTemplate, status, requestBytes, responseBytes, duration);
+        } else if (failure != null) {
+            metrics.requestFailed(operation, pathTemplate, failure, duration);
+        } else {
+            //served without an exchange with the server
+            metrics.requestCompleted(operation, pathTemplate, 200, -1, -1, duration);
+        }
+    }
+
+    /**
+     * Reports the request once the stage completes.
+     */
+    public <T> CompletionStage<T> record(CompletionStage<T> stage) {
+        return stage.whenComplete((result, failure) -> complete(failure));
+    }
+}
@@ -0,0 +1,68 @@
+package io.apicurio.rest.client.request;
+
+import io.apicurio.rest.client.spi.ApicurioHttpClient;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headers set for the next request a thread sends through one client, backing
+ * {@link ApicurioHttpClient#setNextRequestHeaders(Map)}. Each client owns its instance, so the headers set on
+ * one client are never sent by another, and requests skip the thread local lookup entirely while no thread has
+ * headers pending.
+ * <p>
+ * The headers are bound to the thread setting them and cannot follow a request to another thread, the headers
+ * of {@link Request} are meant for async and batched requests.
+ */
+public final class NextRequestHeaders {
+
+    private final ThreadLocal<Map<String, String>> headers = new ThreadLocal<>();
+    //number of threads with pending headers
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * Sets the headers of the next request of the current thread, null or empty headers clear them.
+     */
+    public void set(Map<String, String> next) {
+        final Map<String, String> previous = headers.get();
+        if (next == null || next.isEmpty()) {
+            if (previous != null) {
+                headers.remove();
+                pending.decrementAndGet();
+            }
+            return;
+        }
+        headers.set(next);
+        if (previous == null) {
+            pending.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the headers of the next request of the current thread, without consuming them
+     */
+    public Map<String, String> get() {
+        if (pending.get() == 0) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> current = headers.get();
+        return current == null ? Collections.emptyMap() : current;
+    }
+
+    /**
+     * @return the headers of the next request of the current thread, which are cleared
+     */
+    public Map<String, String> consume() {
+        if (pending.get() == 0) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> current = headers.get();
+        if (current == null) {
+            return Collections.emptyMap();
+        }
+        headers.remove();
+        pending.decrementAndGet();
+        return current;
+    }
+}
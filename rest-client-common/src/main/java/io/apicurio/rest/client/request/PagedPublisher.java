@@ -0,0 +1,232 @@
+package io.apicurio.rest.client.request;
+
+import io.apicurio.rest.client.spi.ApicurioHttpClient;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Publishes the items of a paginated list, such as the results of a registry search, fetching the pages with
+ * offset and limit requests as the subscriber asks for items. While a page is being consumed the next one is
+ * fetched already, so at most two pages are held in memory whatever the size of the list. The list ends with
+ * the first page holding fewer items than the page size.
+ * <p>
+ * Every subscriber reads the list from its start. The items are delivered either on the thread requesting them
+ * or on the thread completing a page request, with the Vert.x client an event loop on which the subscriber must
+ * not block.
+ */
+public final class PagedPublisher<P, T> implements Flow.Publisher<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Builds the request of a page of the list.
+     */
+    @FunctionalInterface
+    public interface PageRequests<P> {
+
+        /**
+         * @param offset The index of the first item of the page
+         * @param limit The maximum number of items of the page
+         * @return the request of the page
+         */
+        Request<P> page(int offset, int limit);
+    }
+
+    private final ApicurioHttpClient client;
+    private final PageRequests<P> pageRequests;
+    private final Function<P, List<T>> items;
+    private final int pageSize;
+    private final Map<String, String> headers;
+
+    @SuppressWarnings("deprecation")
+    private PagedPublisher(ApicurioHttpClient client, PageRequests<P> pageRequests, Function<P, List<T>> items, int pageSize) {
+        this.client = client;
+        this.pageRequests = pageRequests;
+        this.items = items;
+        this.pageSize = pageSize;
+        this.headers = client.getHeaders();
+        //the headers go with every page instead of the next request of this thread
+        client.setNextRequestHeaders(Collections.emptyMap());
+    }
+
+    /**
+     * Creates a publisher of the items of a paginated list. The headers set for the next request of the current
+     * thread are sent with the request of every page.
+     *
+     * @param client The client sending the page requests
+     * @param pageRequests Builds the request of a page from its offset and limit
+     * @param items Extracts the items of the list from a page
+     * @param pageSize The number of items requested per page
+     */
+    public static <P, T> PagedPublisher<P, T> create(ApicurioHttpClient client, PageRequests<P> pageRequests, Function<P, List<T>> items, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Invalid page size " + pageSize + ", it must be positive");
+        }
+        return new PagedPublisher<>(Objects.requireNonNull(client), Objects.requireNonNull(pageRequests), Objects.requireNonNull(items), pageSize);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        final PageSubscription subscription = new PageSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class PageSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        //signals are sent by a single thread at a time, looping instead of recursing when a page completes inline
+        private final AtomicInteger drainRequests = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        //only accessed by the draining thread
+        private List<T> current;
+        private int index;
+        private CompletableFuture<List<T>> nextPage;
+        private int nextOffset;
+        private boolean lastPage;
+        private boolean started;
+        private boolean terminated;
+
+        private PageSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Invalid request of " + n + " items, it must be positive");
+            } else {
+                requested.getAndUpdate(r -> r + n < 0 ? Long.MAX_VALUE : r + n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                if (!terminated) {
+                    emit();
+                }
+            } while (drainRequests.decrementAndGet() != 0);
+        }
+
+        private void emit() {
+            while (true) {
+                if (cancelled) {
+                    release();
+                    return;
+                }
+                if (invalidRequest != null) {
+                    fail(invalidRequest);
+                    return;
+                }
+                if (!started) {
+                    if (requested.get() == 0) {
+                        return;
+                    }
+                    started = true;
+                    fetchNextPage();
+                }
+                final long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && current != null && index < current.size()) {
+                    subscriber.onNext(current.get(index++));
+                    emitted++;
+                    if (cancelled) {
+                        release();
+                        return;
+                    }
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                if (current != null && index < current.size()) {
+                    //waiting for demand
+                    return;
+                }
+                current = null;
+                if (lastPage) {
+                    terminated = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                if (!nextPage.isDone()) {
+                    //drained again once the page is fetched
+                    return;
+                }
+                final List<T> page;
+                try {
+                    page = nextPage.join();
+                } catch (CompletionException e) {
+                    fail(e.getCause() != null ? e.getCause() : e);
+                    return;
+                }
+                current = page;
+                index = 0;
+                lastPage = page.size() < pageSize;
+                if (!lastPage) {
+                    //prefetched while this page is being consumed
+                    fetchNextPage();
+                }
+            }
+        }
+
+        private void fetchNextPage() {
+            final int offset = nextOffset;
+            nextOffset += pageSize;
+            final CompletableFuture<List<T>> page = sendPageRequest(offset)
+                    .thenApply(this::itemsOf)
+                    .toCompletableFuture();
+            nextPage = page;
+            page.whenComplete((result, failure) -> drain());
+        }
+
+        private CompletionStage<P> sendPageRequest(int offset) {
+            final Request<P> request;
+            try {
+                request = pageRequests.page(offset, pageSize);
+            } catch (RuntimeException e) {
+                //thrown by the page requests of the caller, the client reports its failures in the stage it returns
+                return CompletableFuture.failedFuture(e);
+            }
+            return client.sendRequestAsync(request.withHeaders(headers));
+        }
+
+        private List<T> itemsOf(P page) {
+            final List<T> pageItems = page == null ? null : items.apply(page);
+            return pageItems == null ? Collections.emptyList() : pageItems;
+        }
+
+        private void fail(Throwable failure) {
+            release();
+            subscriber.onError(failure);
+        }
+
+        private void release() {
+            terminated = true;
+            current = null;
+            nextPage = null;
+        }
+    }
+}
@@ -19,6 +19,8 @@ package io.apicurio.rest.client.request;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -35,26 +37,44 @@ public class Request<T> {
     private final Operation operation;
     private final String requestPath;
     private final Map<String, String> headers;
+    //whether the content type and accept headers are the default ones, rather than set on the request
+    private final boolean defaultContentType;
+    private final boolean defaultAccept;
     private final Map<String, List<String>> queryParams;
     private final TypeReference<T> responseType;
     private final InputStream data;
+    private final long dataLength;
     private final String dataString;
     private final List<String> pathParams;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Duration timeout;
+    private final ResponseMode responseMode;
+    private final Path responseFile;
 
-    private Request(Operation operation, String requestPath, Map<String, String> headers, Map<String, List<String>> queryParams, TypeReference<T> responseType, InputStream data, List<String> pathParams, String dataString) {
+    private Request(Operation operation, String requestPath, Map<String, String> headers, Map<String, List<String>> queryParams, TypeReference<T> responseType, InputStream data, long dataLength, List<String> pathParams, String dataString,
+                    Duration connectTimeout, Duration readTimeout, Duration timeout, ResponseMode responseMode, Path responseFile) {
         this.operation = operation;
         this.requestPath = requestPath;
         this.headers = new HashMap<>(headers);
         this.queryParams = queryParams;
         this.responseType = responseType;
         this.data = data;
+        this.dataLength = dataLength;
         this.pathParams = pathParams;
         this.dataString = dataString;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.timeout = timeout;
+        this.responseMode = responseMode;
+        this.responseFile = responseFile;
 
-        if (!this.headers.containsKey(CONTENT_TYPE)) {
+        this.defaultContentType = !this.headers.containsKey(CONTENT_TYPE);
+        if (defaultContentType) {
             this.headers.put(CONTENT_TYPE, "application/json");
         }
-        if (!this.headers.containsKey(ACCEPT)) {
+        this.defaultAccept = !this.headers.containsKey(ACCEPT);
+        if (defaultAccept) {
             this.headers.put(ACCEPT, "application/json");
         }
     }
@@ -71,6 +91,29 @@ public class Request<T> {
         return headers;
     }
 
+    /**
+     * @return a copy of this request also sending the given headers, the headers set on this request take
+     * precedence over them, while they take precedence over its default content type and accept headers
+     */
+    public Request<T> withHeaders(Map<String, String> extraHeaders) {
+        if (extraHeaders.isEmpty()) {
+            return this;
+        }
+        final Map<String, String> mergedHeaders = new HashMap<>(extraHeaders);
+        //the default headers are set again by the copy when not given
+        headers.forEach((name, value) -> {
+            if (!isDefault(name)) {
+                mergedHeaders.put(name, value);
+            }
+        });
+        return new Request<>(operation, requestPath, mergedHeaders, queryParams, responseType, data, dataLength, pathParams, dataString,
+                connectTimeout, readTimeout, timeout, responseMode, responseFile);
+    }
+
+    private boolean isDefault(String header) {
+        return (defaultContentType && CONTENT_TYPE.equals(header)) || (defaultAccept && ACCEPT.equals(header));
+    }
+
     public Map<String, List<String>> getQueryParams() {
         return queryParams;
     }
@@ -83,6 +126,13 @@ public class Request<T> {
         return data;
     }
 
+    /**
+     * @return the length of the data stream in bytes, or -1 if unknown
+     */
+    public long getDataLength() {
+        return dataLength;
+    }
+
     public String getDataString() {
         return dataString;
     }
@@ -91,6 +141,38 @@ public class Request<T> {
         return pathParams;
     }
 
+    /**
+     * @return the connect timeout of this request, or null to apply the client one
+     */
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * @return the read timeout of this request, or null to apply the client one
+     */
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * @return the deadline of this request, or null to apply the client one
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public ResponseMode getResponseMode() {
+        return responseMode;
+    }
+
+    /**
+     * @return the file the body is written to in {@link ResponseMode#FILE} mode, null in the other modes
+     */
+    public Path getResponseFile() {
+        return responseFile;
+    }
+
     public static class RequestBuilder<T> {
         private Operation operation;
         private String path = "";
@@ -98,8 +180,14 @@ public class Request<T> {
         private Map<String, List<String>> queryParams = Collections.emptyMap();
         private TypeReference<T> typeReference;
         private InputStream data;
+        private long dataLength = -1;
         private String dataString;
         private List<String> pathParams = Collections.emptyList();
+        private Duration connectTimeout;
+        private Duration readTimeout;
+        private Duration timeout;
+        private ResponseMode responseMode;
+        private Path responseFile;
 
         public RequestBuilder<T> operation(Operation operation) {
             this.operation = operation;
@@ -111,11 +199,23 @@ public class Request<T> {
             return this;
         }
 
+        /**
+         * Sets the headers of the request. Unlike the ones set with
+         * {@link io.apicurio.rest.client.spi.ApicurioHttpClient#setNextRequestHeaders(Map)}, they stay with the
+         * request whatever the thread it is sent from.
+         */
         public RequestBuilder<T> headers(Map<String, String> headers) {
             this.headers = headers;
             return this;
         }
 
+        public RequestBuilder<T> header(String name, String value) {
+            final Map<String, String> updatedHeaders = new HashMap<>(headers);
+            updatedHeaders.put(name, value);
+            this.headers = updatedHeaders;
+            return this;
+        }
+
         public RequestBuilder<T> queryParams(Map<String, List<String>> queryParams) {
             this.queryParams = queryParams;
             return this;
@@ -131,6 +231,16 @@ public class Request<T> {
             return this;
         }
 
+        /**
+         * Sets the request body together with its length, which allows it to be streamed with a Content-Length
+         * header instead of chunked.
+         */
+        public RequestBuilder<T> data(InputStream data, long contentLength) {
+            this.data = data;
+            this.dataLength = contentLength;
+            return this;
+        }
+
         public RequestBuilder<T> data(String data) {
             this.dataString = data;
             return this;
@@ -141,8 +251,51 @@ public class Request<T> {
             return this;
         }
 
+        public RequestBuilder<T> connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public RequestBuilder<T> readTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the deadline of the request, overriding the client one. {@code Duration.ZERO} disables it.
+         */
+        public RequestBuilder<T> timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Sets how the body of the response is consumed, by default derived from the response type:
+         * {@link ResponseMode#STREAM} for an {@link InputStream}, {@link ResponseMode#DISCARD} for {@link Void}
+         * and {@link ResponseMode#JSON} otherwise.
+         */
+        public RequestBuilder<T> responseMode(ResponseMode responseMode) {
+            this.responseMode = responseMode;
+            return this;
+        }
+
+        /**
+         * Writes the body of the response to the file, created or truncated, in {@link ResponseMode#FILE} mode.
+         * The response type of the request is expected to be {@link Path}.
+         */
+        public RequestBuilder<T> responseFile(Path responseFile) {
+            this.responseFile = responseFile;
+            this.responseMode = ResponseMode.FILE;
+            return this;
+        }
+
         public Request<T> build() {
-            return new Request<>(operation, path, headers, queryParams, typeReference, data, pathParams, dataString);
+            final ResponseMode mode = responseMode == null ? ResponseMode.of(typeReference) : responseMode;
+            if (mode == ResponseMode.FILE && responseFile == null) {
+                throw new IllegalArgumentException("A response file is required by the " + ResponseMode.FILE + " response mode");
+            }
+            return new Request<>(operation, path, headers, queryParams, typeReference, data, dataLength, pathParams, dataString,
+                    connectTimeout, readTimeout, timeout, mode, mode == ResponseMode.FILE ? responseFile : null);
         }
     }
 }
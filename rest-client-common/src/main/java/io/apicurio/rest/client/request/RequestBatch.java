@@ -0,0 +1,96 @@
+package io.apicurio.rest.client.request;
+
+import io.apicurio.rest.client.spi.ApicurioHttpClient;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends a list of requests with at most max-concurrency of them in flight, the next one being sent as soon as
+ * one completes, and collects their outcomes in the order of the list. The requests in flight share the
+ * connections of the client: they are multiplexed over HTTP/2, and over HTTP/1.1 each one uses a kept alive
+ * connection, or is pipelined on one when the client enables pipelining. The Vert.x client opens at most
+ * {@code apicurio.rest.request.pool.max-size} connections (5 by default), without pipelining the requests above
+ * it wait for a connection.
+ */
+public final class RequestBatch {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    private final ApicurioHttpClient client;
+    private final List<? extends Request<?>> requests;
+    private final int maxConcurrency;
+    private final Map<String, String> headers;
+    private final RequestResult<?>[] results;
+    private final CompletableFuture<List<RequestResult<?>>> completion = new CompletableFuture<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger remaining;
+    //requests are sent by a single thread at a time, looping instead of recursing when they complete inline
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    @SuppressWarnings("deprecation")
+    private RequestBatch(ApicurioHttpClient client, List<? extends Request<?>> requests, int maxConcurrency) {
+        this.client = client;
+        this.requests = requests;
+        this.maxConcurrency = maxConcurrency;
+        this.headers = client.getHeaders();
+        //the headers go with every request of the batch instead of the next request of this thread
+        client.setNextRequestHeaders(Collections.emptyMap());
+        this.results = new RequestResult<?>[requests.size()];
+        this.remaining = new AtomicInteger(requests.size());
+    }
+
+    /**
+     * Sends the requests of the batch. The headers set for the next request of the current thread are sent with
+     * every request of the batch.
+     *
+     * @return a completion stage completed with the outcome of every request, in the order of the list
+     */
+    public static CompletionStage<List<RequestResult<?>>> execute(ApicurioHttpClient client, List<? extends Request<?>> requests, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Invalid max concurrency " + maxConcurrency + ", it must be positive");
+        }
+        if (requests.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        final RequestBatch batch = new RequestBatch(client, requests, maxConcurrency);
+        batch.drain();
+        return batch.completion;
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            while (inFlight.get() < maxConcurrency && next.get() < requests.size()) {
+                inFlight.incrementAndGet();
+                final int index = next.getAndIncrement();
+                send(index, requests.get(index));
+            }
+        } while (drainRequests.decrementAndGet() != 0);
+    }
+
+    private <T> void send(int index, Request<T> request) {
+        client.sendRequestAsync(request.withHeaders(headers)).whenComplete((result, failure) -> {
+            results[index] = failure == null ? RequestResult.success(request, result) : RequestResult.failure(request, unwrap(failure));
+            inFlight.decrementAndGet();
+            if (remaining.decrementAndGet() == 0) {
+                completion.complete(Collections.unmodifiableList(Arrays.asList(results)));
+            } else {
+                drain();
+            }
+        });
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+}
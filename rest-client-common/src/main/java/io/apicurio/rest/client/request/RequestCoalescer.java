@@ -0,0 +1,92 @@
+package io.apicurio.rest.client.request;
+
+import io.apicurio.rest.client.config.ApicurioClientConfig;
+import io.apicurio.rest.client.util.ConcurrentUtil;
+import io.apicurio.rest.client.util.ConfigUtil;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical requests: while a request is in flight, callers issuing a request with
+ * the same key wait for its outcome instead of sending their own.
+ */
+public class RequestCoalescer {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /**
+     * @return the coalescer described by the client configuration, or null if coalescing is not enabled
+     */
+    public static RequestCoalescer fromConfig(Map<String, Object> configs) {
+        if (!ConfigUtil.toBoolean(configs.get(ApicurioClientConfig.APICURIO_REQUEST_COALESCING_ENABLED))) {
+            return null;
+        }
+        return new RequestCoalescer();
+    }
+
+    /**
+     * Runs the call on the current thread unless an identical call is already in flight, in which case the
+     * current thread blocks until that one completes.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call) {
+        final CompletableFuture<Object> leader = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            return (T) ConcurrentUtil.get(existing);
+        }
+        try {
+            final T result = call.get();
+            leader.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    /**
+     * Starts the call unless an identical call is already in flight, in which case the outcome of that call is
+     * returned.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(String key, Supplier<? extends CompletionStage<T>> call) {
+        final CompletableFuture<Object> leader = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            //a copy so that callers cannot complete the shared future
+            return (CompletableFuture<T>) (CompletableFuture<?>) existing.copy();
+        }
+        try {
+            call.get().whenComplete((result, failure) -> {
+                inFlight.remove(key, leader);
+                if (failure != null) {
+                    leader.completeExceptionally(failure);
+                } else {
+                    leader.complete(result);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, leader);
+            leader.completeExceptionally(e);
+        }
+        return (CompletableFuture<T>) (CompletableFuture<?>) leader.copy();
+    }
+
+    /**
+     * @return number of requests that were served by an identical in-flight request
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+}
@@ -0,0 +1,26 @@
+package io.apicurio.rest.client.request;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds string keys identifying a request by its absolute uri and its headers, independently of the order
+ * and case of the header names.
+ */
+public class RequestKey {
+
+    public static String of(String uri, Iterable<Map.Entry<String, String>> headers) {
+        final List<String> keyHeaders = new ArrayList<>();
+        for (Map.Entry<String, String> header : headers) {
+            keyHeaders.add(header.getKey().toLowerCase(Locale.ROOT) + ':' + header.getValue());
+        }
+        keyHeaders.sort(null);
+        final StringBuilder key = new StringBuilder(uri);
+        for (String header : keyHeaders) {
+            key.append('\n').append(header);
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,66 @@
+package io.apicurio.rest.client.request;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Outcome of one of the requests of a batch, either its result or the error it failed with.
+ */
+public final class RequestResult<T> {
+
+    private final Request<T> request;
+    private final T result;
+    private final Throwable failure;
+
+    private RequestResult(Request<T> request, T result, Throwable failure) {
+        this.request = request;
+        this.result = result;
+        this.failure = failure;
+    }
+
+    public static <T> RequestResult<T> success(Request<T> request, T result) {
+        return new RequestResult<>(request, result, null);
+    }
+
+    public static <T> RequestResult<T> failure(Request<T> request, Throwable failure) {
+        return new RequestResult<>(request, null, failure);
+    }
+
+    public Request<T> getRequest() {
+        return request;
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /**
+     * @return the result of the request, or null if it failed
+     */
+    public T getResult() {
+        return result;
+    }
+
+    /**
+     * @return the error the request failed with, or null if it succeeded
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * @return the result of the request
+     * @throws RuntimeException the error the request failed with, wrapped if it is a checked one
+     */
+    public T get() {
+        if (failure == null) {
+            return result;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new CompletionException(failure);
+    }
+}
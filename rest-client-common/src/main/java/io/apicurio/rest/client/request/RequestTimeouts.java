@@ -0,0 +1,122 @@
+package io.apicurio.rest.client.request;
+
+import io.apicurio.rest.client.config.ApicurioClientConfig;
+import io.apicurio.rest.client.util.ConfigUtil;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connect, read and total timeouts of the requests of a client, in milliseconds where 0 means no timeout. The
+ * client wide timeouts come from the configuration, {@link #forRequest(Request)} applies the overrides of a
+ * request and starts its deadline.
+ *
+ * @see ApicurioClientConfig#APICURIO_REQUEST_TIMEOUT
+ */
+public final class RequestTimeouts {
+
+    public static final RequestTimeouts NONE = new RequestTimeouts(0, 0, 0, 0);
+
+    private final long connectTimeout;
+    private final long readTimeout;
+    private final long timeout;
+    private final long deadlineNanos;
+
+    private RequestTimeouts(long connectTimeout, long readTimeout, long timeout, long deadlineNanos) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.timeout = timeout;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @return the timeouts described by the client configuration, {@link #NONE} if none is configured
+     */
+    public static RequestTimeouts fromConfig(Map<String, Object> configs) {
+        final long connectTimeout = toMillis(ConfigUtil.getLong(configs, ApicurioClientConfig.APICURIO_REQUEST_CONNECT_TIMEOUT));
+        final long readTimeout = toMillis(ConfigUtil.getLong(configs, ApicurioClientConfig.APICURIO_REQUEST_READ_TIMEOUT));
+        final long timeout = toMillis(ConfigUtil.getLong(configs, ApicurioClientConfig.APICURIO_REQUEST_TIMEOUT));
+        if (connectTimeout == 0 && readTimeout == 0 && timeout == 0) {
+            return NONE;
+        }
+        return new RequestTimeouts(connectTimeout, readTimeout, timeout, 0);
+    }
+
+    private static long toMillis(Long value) {
+        if (value != null && value < 0) {
+            throw new IllegalArgumentException("Invalid timeout " + value + ", timeouts must not be negative");
+        }
+        return value == null ? 0 : value;
+    }
+
+    private static long toMillis(Duration duration, long defaultValue) {
+        if (duration == null) {
+            return defaultValue;
+        }
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Invalid timeout " + duration + ", timeouts must not be negative");
+        }
+        return duration.toMillis();
+    }
+
+    /**
+     * @return the timeouts of the request, whose deadline starts now
+     */
+    public RequestTimeouts forRequest(Request<?> request) {
+        final long requestConnectTimeout = toMillis(request.getConnectTimeout(), connectTimeout);
+        final long requestReadTimeout = toMillis(request.getReadTimeout(), readTimeout);
+        final long requestTimeout = toMillis(request.getTimeout(), timeout);
+        if (requestConnectTimeout == 0 && requestReadTimeout == 0 && requestTimeout == 0) {
+            return NONE;
+        }
+        final long deadline = requestTimeout == 0 ? 0 : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(requestTimeout);
+        return new RequestTimeouts(requestConnectTimeout, requestReadTimeout, requestTimeout, deadline);
+    }
+
+    public long getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public long getReadTimeout() {
+        return readTimeout;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public boolean hasDeadline() {
+        return deadlineNanos != 0;
+    }
+
+    /**
+     * @return the milliseconds left before the deadline, rounded up, 0 once it expired or
+     * {@code Long.MAX_VALUE} without deadline
+     */
+    public long remainingMillis() {
+        if (deadlineNanos == 0) {
+            return Long.MAX_VALUE;
+        }
+        final long remaining = deadlineNanos - System.nanoTime();
+        return remaining <= 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(remaining + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+    }
+
+    /**
+     * @return the read timeout bounded by the time left before the deadline, or 0 if there is neither
+     */
+    public long attemptReadTimeout() {
+        if (deadlineNanos == 0) {
+            return readTimeout;
+        }
+        final long remaining = Math.max(1, remainingMillis());
+        return readTimeout == 0 ? remaining : Math.min(readTimeout, remaining);
+    }
+
+    /**
+     * @return message of the exception a request fails with once its deadline expired
+     */
+    public String deadlineMessage() {
+        return "The request did not complete within " + timeout + "ms";
+    }
+}
@@ -0,0 +1,89 @@
+package io.apicurio.rest.client.request;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * How the body of a successful response is consumed, selected once when the request is built so that the
+ * clients pick the matching body reader up front. Error responses are always handed to the error handler.
+ */
+public enum ResponseMode {
+
+    /**
+     * The body is parsed as json into the response type of the request.
+     */
+    JSON,
+
+    /**
+     * The body is a json array whose elements are parsed one at a time as the caller pulls them, from an
+     * {@link Iterator} or a {@link Stream} result whose type argument is the type of the elements. The result
+     * must be closed by the caller, closing the {@link com.fasterxml.jackson.databind.MappingIterator} of
+     * iterator results, so that the body is released.
+     */
+    JSON_STREAM,
+
+    /**
+     * The body is returned as an {@link InputStream} read from the connection, which must be closed by the
+     * caller.
+     */
+    STREAM,
+
+    /**
+     * The body is returned as a {@code byte[]}.
+     */
+    BYTES,
+
+    /**
+     * The body is discarded and the result is null, for {@link Void} responses.
+     */
+    DISCARD,
+
+    /**
+     * The body is written to the response file of the request, whose {@link java.nio.file.Path} is the result.
+     */
+    FILE;
+
+    /**
+     * @return the mode of the requests that do not set one, derived from their response type
+     */
+    public static ResponseMode of(TypeReference<?> responseType) {
+        if (responseType == null) {
+            return JSON;
+        }
+        final Type type = responseType.getType();
+        final Type rawType = type instanceof ParameterizedType ? ((ParameterizedType) type).getRawType() : type;
+        if (rawType instanceof Class) {
+            final Class<?> rawClass = (Class<?>) rawType;
+            if (InputStream.class.isAssignableFrom(rawClass)) {
+                return STREAM;
+            }
+            if (rawClass == Void.class) {
+                return DISCARD;
+            }
+            if (Iterator.class.isAssignableFrom(rawClass) || Stream.class.isAssignableFrom(rawClass)) {
+                return JSON_STREAM;
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * @return true if the result of a response can be handed to several callers of the same request, which
+     * excludes the streams read once and the files written to the location of a given request
+     */
+    public boolean isShareable() {
+        return !isStreamed() && this != FILE;
+    }
+
+    /**
+     * @return true if the body is read by the caller once the result is returned, rather than by the client
+     */
+    public boolean isStreamed() {
+        return this == STREAM || this == JSON_STREAM;
+    }
+}
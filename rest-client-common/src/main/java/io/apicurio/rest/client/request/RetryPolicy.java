@@ -0,0 +1,332 @@
+package io.apicurio.rest.client.request;
+
+import io.apicurio.rest.client.config.ApicurioClientConfig;
+import io.apicurio.rest.client.util.ConfigUtil;
+import io.apicurio.rest.client.util.IoUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Retries of idempotent requests on transient failures, with exponential backoff and full jitter. Retries of
+ * all the requests of a client share a token bucket, so that during an outage the retries stay a fraction of the
+ * requests instead of multiplying the load on the server.
+ *
+ * @see ApicurioClientConfig#APICURIO_REQUEST_RETRY_PREFIX
+ */
+public class RetryPolicy {
+
+    public static final String RETRY_AFTER = "Retry-After";
+
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final long DEFAULT_INITIAL_BACKOFF = 100;
+    private static final long DEFAULT_MAX_BACKOFF = 10_000;
+    private static final int DEFAULT_BUDGET_MAX_TOKENS = 10;
+    private static final double DEFAULT_BUDGET_TOKEN_RATIO = 0.1;
+    //streamed data is buffered until the response arrives to be sent again, only up to this length
+    private static final long MAX_REPLAYED_DATA_LENGTH = 1024 * 1024;
+    //tokens are counted in thousandths so that fractional refills are exact
+    private static final long TOKEN = 1000;
+
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final long maxTokens;
+    private final long tokenRefill;
+    private final AtomicLong tokens;
+
+    public RetryPolicy(int maxAttempts, long initialBackoff, long maxBackoff, int budgetMaxTokens, double budgetTokenRatio) {
+        if (maxAttempts < 1 || initialBackoff < 0 || maxBackoff < initialBackoff || budgetMaxTokens < 0 || budgetTokenRatio < 0) {
+            throw new IllegalArgumentException("Invalid retry policy, attempts must be positive and backoffs and budget must not be negative");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxTokens = budgetMaxTokens * TOKEN;
+        this.tokenRefill = (long) (budgetTokenRatio * TOKEN);
+        this.tokens = new AtomicLong(maxTokens);
+    }
+
+    /**
+     * @return the retry policy described by the client configuration, or null if retries are not enabled
+     */
+    public static RetryPolicy fromConfig(Map<String, Object> configs) {
+        if (!ConfigUtil.toBoolean(configs.get(ApicurioClientConfig.APICURIO_REQUEST_RETRY_ENABLED))) {
+            return null;
+        }
+        final Integer maxAttempts = ConfigUtil.getInteger(configs, ApicurioClientConfig.APICURIO_REQUEST_RETRY_MAX_ATTEMPTS);
+        final Long initialBackoff = ConfigUtil.getLong(configs, ApicurioClientConfig.APICURIO_REQUEST_RETRY_INITIAL_BACKOFF);
+        final Long maxBackoff = ConfigUtil.getLong(configs, ApicurioClientConfig.APICURIO_REQUEST_RETRY_MAX_BACKOFF);
+        final Integer maxTokens = ConfigUtil.getInteger(configs, ApicurioClientConfig.APICURIO_REQUEST_RETRY_BUDGET_MAX_TOKENS);
+        final Double tokenRatio = ConfigUtil.getDouble(configs, ApicurioClientConfig.APICURIO_REQUEST_RETRY_BUDGET_TOKEN_RATIO);
+        return new RetryPolicy(maxAttempts == null ? DEFAULT_MAX_ATTEMPTS : maxAttempts,
+                initialBackoff == null ? DEFAULT_INITIAL_BACKOFF : initialBackoff,
+                maxBackoff == null ? DEFAULT_MAX_BACKOFF : maxBackoff,
+                maxTokens == null ? DEFAULT_BUDGET_MAX_TOKENS : maxTokens,
+                tokenRatio == null ? DEFAULT_BUDGET_TOKEN_RATIO : tokenRatio);
+    }
+
+    /**
+     * Starts tracking the attempts of a request. The data of a retried request must be sent from
+     * {@link Retries#getData()}.
+     *
+     * @return the retries of the request, or null if it cannot be retried because its operation is not
+     * idempotent. A data stream is sent again if its length is known and small enough to be kept until the
+     * response arrives, otherwise only failures happening before any of it was read are retried.
+     */
+    public Retries start(Request<?> request) {
+        if (maxAttempts < 2) {
+            return null;
+        }
+        switch (request.getOperation()) {
+            case GET:
+            case DELETE:
+                return new Retries(null, false);
+            case PUT:
+                final InputStream data = request.getData();
+                if (data == null) {
+                    return new Retries(null, false);
+                }
+                final long length = request.getDataLength();
+                if (data.markSupported() && length >= 0 && length <= MAX_REPLAYED_DATA_LENGTH) {
+                    data.mark((int) length + 1);
+                    return new Retries(data, true);
+                }
+                return new Retries(data, false);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return number of whole tokens left in the retry budget
+     */
+    public long getAvailableTokens() {
+        return tokens.get() / TOKEN;
+    }
+
+    private boolean acquireToken() {
+        while (true) {
+            final long current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    private void refillToken() {
+        if (tokenRefill > 0) {
+            tokens.accumulateAndGet(tokenRefill, (current, refill) -> Math.min(maxTokens, current + refill));
+        }
+    }
+
+    private long backoff(int retry) {
+        final long ceiling = initialBackoff << Math.min(retry, 30);
+        final long bound = ceiling < 0 || ceiling > maxBackoff ? maxBackoff : ceiling;
+        return bound == 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    static boolean isRetryableStatus(int statusCode, String retryAfter) {
+        return statusCode == 502 || statusCode == 503 || statusCode == 504 || (statusCode == 429 && retryAfter != null);
+    }
+
+    static boolean isConnectFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof HttpConnectTimeoutException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the delay in milliseconds given by a Retry-After header value, either a number of seconds or an
+     * http date, or -1 if it cannot be parsed
+     */
+    static long parseRetryAfter(String retryAfter) {
+        final String value = retryAfter.trim();
+        try {
+            return Math.max(0, Long.parseLong(value)) * 1000;
+        } catch (NumberFormatException e) {
+            try {
+                final Instant date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return Math.max(0, Duration.between(Instant.now(), date).toMillis());
+            } catch (DateTimeParseException invalid) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Attempts of a single request. Each outcome is given to one of the {@code retryDelay} methods, which tell
+     * whether the request must be sent again and after which delay.
+     */
+    public class Retries {
+
+        private final InputStream data;
+        private final boolean replayable;
+        private final ReentrantLock dataLock = new ReentrantLock();
+        private int attempt;
+        private boolean dataRead;
+        private int retries;
+
+        private Retries(InputStream data, boolean replayable) {
+            this.data = data;
+            this.replayable = replayable;
+        }
+
+        /**
+         * @return the request data to send for the current attempt, or null if the request has no data stream.
+         * The stream is not closed by the transport so that it can be sent again, and reading it fails once a
+         * new attempt started, in case the transport is still sending it when the response arrives.
+         */
+        public InputStream getData() {
+            if (data == null) {
+                return null;
+            }
+            dataLock.lock();
+            try {
+                return new AttemptData(attempt);
+            } finally {
+                dataLock.unlock();
+            }
+        }
+
+        /**
+         * @return the delay in milliseconds before sending the request again after this response, or -1 if the
+         * response is final
+         */
+        public long retryDelay(int statusCode, String retryAfter) {
+            if (!isRetryableStatus(statusCode, retryAfter)) {
+                refillToken();
+                return done();
+            }
+            long delay = -1;
+            if (retryAfter != null) {
+                delay = parseRetryAfter(retryAfter);
+                if (delay > maxBackoff) {
+                    //the server asks to come back later than this client is willing to wait
+                    return done();
+                }
+            }
+            return retry(delay);
+        }
+
+        /**
+         * @return the delay in milliseconds before sending the request again after this failure, or -1 if the
+         * failure is final
+         */
+        public long retryDelay(Throwable failure) {
+            if (!isConnectFailure(failure)) {
+                return done();
+            }
+            return retry(-1);
+        }
+
+        private long retry(long delay) {
+            if (retries + 1 >= maxAttempts || !acquireToken()) {
+                return done();
+            }
+            if (data != null) {
+                dataLock.lock();
+                try {
+                    if (replayable) {
+                        data.reset();
+                    } else if (dataRead) {
+                        //part of the data is gone, it cannot be sent again
+                        return done();
+                    }
+                    attempt++;
+                } catch (IOException e) {
+                    return done();
+                } finally {
+                    dataLock.unlock();
+                }
+            }
+            final int retry = retries++;
+            return delay >= 0 ? delay : backoff(retry);
+        }
+
+        private long done() {
+            IoUtil.closeIgnore(data);
+            return -1;
+        }
+
+        /**
+         * The request data as read by one attempt.
+         */
+        private class AttemptData extends InputStream {
+
+            private final int dataAttempt;
+
+            private AttemptData(int dataAttempt) {
+                this.dataAttempt = dataAttempt;
+            }
+
+            @Override
+            public int read() throws IOException {
+                dataLock.lock();
+                try {
+                    checkAttempt();
+                    final int read = data.read();
+                    dataRead |= read != -1;
+                    return read;
+                } finally {
+                    dataLock.unlock();
+                }
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                dataLock.lock();
+                try {
+                    checkAttempt();
+                    final int read = data.read(b, off, len);
+                    dataRead |= read > 0;
+                    return read;
+                } finally {
+                    dataLock.unlock();
+                }
+            }
+
+            @Override
+            public int available() throws IOException {
+                dataLock.lock();
+                try {
+                    checkAttempt();
+                    return data.available();
+                } finally {
+                    dataLock.unlock();
+                }
+            }
+
+            @Override
+            public void close() {
+                //closed once the request is no longer retried
+            }
+
+            private void checkAttempt() throws IOException {
+                if (dataAttempt != attempt) {
+                    throw new IOException("The request data is being sent again");
+                }
+            }
+        }
+    }
+}
@@ -16,9 +16,18 @@
 
 package io.apicurio.rest.client.spi;
 
+import io.apicurio.rest.client.request.PagedPublisher;
 import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.request.RequestBatch;
+import io.apicurio.rest.client.request.RequestResult;
+import io.apicurio.rest.client.util.ConcurrentUtil;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
 
 /**
  * Common interface for http client implementations
@@ -33,12 +42,85 @@ public interface ApicurioHttpClient extends AutoCloseable {
     <T> T sendRequest(Request<T> request);
 
     /**
+     * Executes the request without blocking the calling thread. Implementations are expected to override this
+     * method with a natively non-blocking version, the default one simply runs {@link #sendRequest(Request)}
+     * in the common pool.
+     *
+     * @param request The request to be executed
+     * @param <T> The type of the param to be returned
+     * @return A completion stage completed with the response from the client, or exceptionally with the error,
+     * which is never thrown by this method
+     */
+    default <T> CompletionStage<T> sendRequestAsync(Request<T> request) {
+        return CompletableFuture.supplyAsync(() -> sendRequest(request));
+    }
+
+    /**
+     * Executes the requests with at most {@link RequestBatch#DEFAULT_MAX_CONCURRENCY} of them in flight.
+     *
+     * @see #sendRequests(List, int)
+     */
+    default List<RequestResult<?>> sendRequests(List<? extends Request<?>> requests) {
+        return sendRequests(requests, RequestBatch.DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Executes the requests with at most maxConcurrency of them in flight, so that the round trips of the
+     * requests in flight overlap. The failure of a request does not stop the others.
+     *
+     * @param requests The requests to be executed
+     * @param maxConcurrency The maximum number of requests in flight
+     * @return The outcome of every request, in the order of the requests
+     */
+    default List<RequestResult<?>> sendRequests(List<? extends Request<?>> requests, int maxConcurrency) {
+        return ConcurrentUtil.result(sendRequestsAsync(requests, maxConcurrency));
+    }
+
+    /**
+     * Non-blocking version of {@link #sendRequests(List, int)}.
+     */
+    default CompletionStage<List<RequestResult<?>>> sendRequestsAsync(List<? extends Request<?>> requests, int maxConcurrency) {
+        return RequestBatch.execute(this, requests, maxConcurrency);
+    }
+
+    /**
+     * Publishes the items of a paginated list, fetching its pages of {@link PagedPublisher#DEFAULT_PAGE_SIZE}
+     * items as the subscriber asks for them.
+     *
+     * @see #sendPagedRequests(PagedPublisher.PageRequests, Function, int)
+     */
+    default <P, T> Flow.Publisher<T> sendPagedRequests(PagedPublisher.PageRequests<P> pageRequests, Function<P, List<T>> items) {
+        return sendPagedRequests(pageRequests, items, PagedPublisher.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Publishes the items of a paginated list, fetching its pages with offset and limit requests as the
+     * subscriber asks for items and the next page while the current one is consumed, so that the list is read
+     * with at most two pages in memory.
+     *
+     * @param pageRequests Builds the request of a page from its offset and limit
+     * @param items Extracts the items of the list from a page
+     * @param pageSize The number of items requested per page
+     * @return a publisher of the items of the list, reading it from its start for every subscriber
+     */
+    default <P, T> Flow.Publisher<T> sendPagedRequests(PagedPublisher.PageRequests<P> pageRequests, Function<P, List<T>> items, int pageSize) {
+        return PagedPublisher.create(this, pageRequests, items, pageSize);
+    }
+
+    /**
+     * Sets headers for the next request the current thread sends through this client. The headers are bound to
+     * the calling thread, and are lost by a request sent from another one, such as a batch or paged request
+     * issued from a completion stage callback.
+     *
      * @param headers the request headers to be used in the next request
+     * @deprecated set the headers on the request instead, with {@link Request.RequestBuilder#headers(Map)} or
+     * {@link Request#withHeaders(Map)}
      */
+    @Deprecated
     void setNextRequestHeaders(Map<String, String> headers);
 
     /**
-     * @return The current map with the request headers
+     * @return The current map with the request headers set for the next request of the current thread
      */
     Map<String, String> getHeaders();
 
@@ -0,0 +1,60 @@
+package io.apicurio.rest.client.spi;
+
+import io.apicurio.rest.client.config.ApicurioClientConfig;
+import io.apicurio.rest.client.request.Operation;
+
+import java.util.Map;
+
+/**
+ * Receives the metrics recorded by the clients. Requests are identified by their operation and their path
+ * template, the request path before the path params are applied, so that the number of distinct series stays
+ * bounded. Implementations must be thread safe and must not block, they are invoked on the threads completing
+ * the requests.
+ */
+public interface ClientMetrics {
+
+    ClientMetrics NOOP = new ClientMetrics() {
+    };
+
+    /**
+     * @return the metrics given in the client configuration, or {@link #NOOP}
+     */
+    static ClientMetrics fromConfig(Map<String, Object> configs) {
+        final Object configured = configs.get(ApicurioClientConfig.APICURIO_CLIENT_METRICS);
+        if (configured == null) {
+            return NOOP;
+        } else if (configured instanceof ClientMetrics) {
+            return (ClientMetrics) configured;
+        }
+        throw new IllegalArgumentException("Invalid value " + configured + " for config " + ApicurioClientConfig.APICURIO_CLIENT_METRICS
+                + ", a ClientMetrics is expected");
+    }
+
+    /**
+     * A request is about to be sent. Every started request is later either completed or failed.
+     */
+    default void requestStarted(Operation operation, String pathTemplate) {
+    }
+
+    /**
+     * A request ended with a response, whatever its status. Requests served without an exchange with the server,
+     * from the response cache or by an identical in-flight request, are reported with a 200 status.
+     *
+     * @param requestBytes  size of the request body, or -1 if unknown
+     * @param responseBytes size of the response body, or -1 if unknown
+     */
+    default void requestCompleted(Operation operation, String pathTemplate, int statusCode, long requestBytes, long responseBytes, long durationNanos) {
+    }
+
+    /**
+     * A request ended without a response, because of a connection error, a timeout or a client side error.
+     */
+    default void requestFailed(Operation operation, String pathTemplate, Throwable failure, long durationNanos) {
+    }
+
+    /**
+     * An access token was requested from the identity server.
+     */
+    default void tokenRequested(long durationNanos, boolean succeeded) {
+    }
+}
@@ -0,0 +1,74 @@
+package io.apicurio.rest.client.util;
+
+import java.util.Map;
+
+/**
+ * Helpers to read typed values from the configuration map given to the client providers, where values may
+ * either be of the expected type or strings.
+ */
+public class ConfigUtil {
+
+    public static boolean toBoolean(Object parameter) {
+        if (parameter == null) {
+            return false;
+        } else if (parameter instanceof Boolean) {
+            return (Boolean) parameter;
+        } else {
+            return parameter instanceof String && Boolean.parseBoolean((String) parameter);
+        }
+    }
+
+    /**
+     * @return the config value as an integer, or null when it is not present
+     */
+    public static Integer getInteger(Map<String, Object> configs, String key) {
+        Object value = configs.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value " + value + " for config " + key + ", an integer is expected", e);
+        }
+    }
+
+    /**
+     * @return the config value as a long, or null when it is not present
+     */
+    public static Long getLong(Map<String, Object> configs, String key) {
+        Object value = configs.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value " + value + " for config " + key + ", a long is expected", e);
+        }
+    }
+
+    /**
+     * @return the config value as a double, or null when it is not present
+     */
+    public static Double getDouble(Map<String, Object> configs, String key) {
+        Object value = configs.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        try {
+            return Double.parseDouble(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value " + value + " for config " + key + ", a number is expected", e);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package io.apicurio.rest.client.util;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -10,12 +9,6 @@ import java.nio.charset.StandardCharsets;
 
 public class IoUtil {
 
-    private static ByteArrayOutputStream toBaos(InputStream stream) throws IOException {
-            ByteArrayOutputStream result = new ByteArrayOutputStream();
-            copy(stream, result);
-            return result;
-        }
-
         /**
          * Close auto-closeable,
          * unchecked IOException is thrown for any IO exception,
@@ -56,7 +49,7 @@ public class IoUtil {
          */
         public static byte[] toBytes(InputStream stream) {
             try {
-                return toBaos(stream).toByteArray();
+                return stream.readAllBytes();
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             } finally {
@@ -72,7 +65,7 @@ public class IoUtil {
          */
         public static byte[] toBytes(InputStream stream, boolean closeStream) {
             try {
-                return toBaos(stream).toByteArray();
+                return stream.readAllBytes();
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             } finally {
@@ -91,7 +84,7 @@ public class IoUtil {
          */
         public static String toString(InputStream stream) {
             try {
-                return toBaos(stream).toString(StandardCharsets.UTF_8.name());
+                return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             } finally {
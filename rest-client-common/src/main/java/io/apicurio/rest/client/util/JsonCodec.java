@@ -0,0 +1,146 @@
+package io.apicurio.rest.client.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.apicurio.rest.client.config.ApicurioClientConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Date;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads response bodies with a mapper that is fully configured before it is shared, and with one
+ * {@link ObjectReader} per target type so that deserializers are resolved once per type instead of per request.
+ * <p>
+ * The default mapper registers the registry date deserializer, ignores unknown properties and, when
+ * {@code jackson-module-blackbird} is on the classpath, the Blackbird module.
+ */
+public class JsonCodec {
+
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+    private static final JsonCodec DEFAULT = new JsonCodec(createDefaultMapper());
+
+    private final ObjectMapper mapper;
+    private final ConcurrentHashMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public JsonCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * @return the codec shared by all the clients that do not provide their own mapper
+     */
+    public static JsonCodec getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return the codec given in the client configuration, or the default one
+     */
+    public static JsonCodec fromConfig(Map<String, Object> configs) {
+        final Object configured = configs.get(ApicurioClientConfig.APICURIO_CLIENT_OBJECT_MAPPER);
+        if (configured == null) {
+            return DEFAULT;
+        } else if (configured instanceof JsonCodec) {
+            return (JsonCodec) configured;
+        } else if (configured instanceof ObjectMapper) {
+            return new JsonCodec((ObjectMapper) configured);
+        }
+        throw new IllegalArgumentException("Invalid value " + configured + " for config " + ApicurioClientConfig.APICURIO_CLIENT_OBJECT_MAPPER
+                + ", an ObjectMapper or a JsonCodec is expected");
+    }
+
+    /**
+     * Creates a mapper configured like the default one, as a starting point for a tuned mapper.
+     */
+    public static ObjectMapper createDefaultMapper() {
+        final ObjectMapper mapper = new ObjectMapper();
+        SimpleModule module = new SimpleModule("Custom date handler");
+        module.addDeserializer(Date.class, new RegistryDateDeserializer());
+        mapper.registerModule(module);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        final Module blackbird = loadBlackbird();
+        if (blackbird != null) {
+            mapper.registerModule(blackbird);
+        }
+        return mapper;
+    }
+
+    private static Module loadBlackbird() {
+        try {
+            return (Module) Class.forName(BLACKBIRD_MODULE, true, JsonCodec.class.getClassLoader())
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            //optional dependency
+            return null;
+        }
+    }
+
+    public ObjectReader readerFor(TypeReference<?> type) {
+        return readers.computeIfAbsent(type.getType(), t -> mapper.readerFor(mapper.constructType(t)));
+    }
+
+    public <T> T readValue(InputStream body, TypeReference<T> type) throws IOException {
+        return readerFor(type).readValue(body);
+    }
+
+    public <T> T readValue(byte[] body, TypeReference<T> type) throws IOException {
+        return readerFor(type).readValue(body);
+    }
+
+    /**
+     * Reads the elements of a json array body lazily, each one being parsed when the caller pulls it, so that
+     * the array never needs to fit in memory.
+     *
+     * @param type an {@link java.util.Iterator} or {@link Stream} type, whose type argument is the type of the
+     *             elements
+     * @return a {@link MappingIterator}, or a sequential {@link Stream} for stream types, over the elements of
+     * the array, to be closed by the caller to release the body
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T readValues(InputStream body, TypeReference<T> type) throws IOException {
+        final JavaType valuesType = mapper.constructType(type.getType());
+        final JavaType elementType = valuesType.containedTypeOrUnknown(0);
+        final MappingIterator<Object> values;
+        try {
+            values = readers.computeIfAbsent(elementType, t -> mapper.readerFor(elementType)).readValues(body);
+        } catch (IOException | RuntimeException e) {
+            body.close();
+            throw e;
+        }
+        if (Stream.class.isAssignableFrom(valuesType.getRawClass())) {
+            return (T) StreamSupport.stream(Spliterators.spliteratorUnknownSize(values, Spliterator.ORDERED), false)
+                    .onClose(() -> close(values));
+        }
+        return (T) values;
+    }
+
+    private static void close(MappingIterator<?> values) {
+        try {
+            values.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+}
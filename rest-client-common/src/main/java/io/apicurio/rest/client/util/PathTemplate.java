@@ -0,0 +1,163 @@
+package io.apicurio.rest.client.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.MissingFormatArgumentException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Request path with {@code %s} slots, as accepted by {@link String#format(String, Object...)}, compiled once into
+ * its literal segments so that expanding it only appends to a single buffer. Path params and query params are
+ * percent-encoded, every character but the unreserved ones of RFC 3986 is escaped.
+ * <p>
+ * Templates using any other format specifier than {@code %s} and {@code %%} are expanded with
+ * {@link String#format(String, Object...)}.
+ */
+public final class PathTemplate {
+
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+    private static final Map<String, PathTemplate> templates = new ConcurrentHashMap<>();
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final String template;
+    private final String[] literals;
+    private final int literalsLength;
+    private final boolean formatted;
+
+    private PathTemplate(String template, String[] literals, boolean formatted) {
+        this.template = template;
+        this.literals = literals;
+        this.formatted = formatted;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalsLength = length;
+    }
+
+    /**
+     * @return the compiled template, cached for the next calls
+     */
+    public static PathTemplate of(String template) {
+        final PathTemplate cached = templates.get(template);
+        if (cached != null) {
+            return cached;
+        }
+        final PathTemplate compiled = compile(template);
+        //request paths are constants, the limit only guards against templates built from request data
+        if (templates.size() < MAX_CACHED_TEMPLATES) {
+            templates.putIfAbsent(template, compiled);
+        }
+        return compiled;
+    }
+
+    static PathTemplate compile(String template) {
+        final List<String> literals = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < template.length()) {
+            final char c = template.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                i++;
+            } else if (i + 1 < template.length() && template.charAt(i + 1) == 's') {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                i += 2;
+            } else if (i + 1 < template.length() && template.charAt(i + 1) == '%') {
+                literal.append('%');
+                i += 2;
+            } else {
+                return new PathTemplate(template, new String[0], true);
+            }
+        }
+        literals.add(literal.toString());
+        return new PathTemplate(template, literals.toArray(new String[0]), false);
+    }
+
+    /**
+     * @return number of path params expected by this template
+     */
+    public int getSlots() {
+        return formatted ? -1 : literals.length - 1;
+    }
+
+    /**
+     * Expands the template with the given path params, in order, and appends the query params, both encoded.
+     * As with {@link String#format(String, Object...)}, extra path params are ignored.
+     */
+    public String expand(List<String> pathParams, Map<String, List<String>> queryParams) {
+        final StringBuilder uri;
+        if (formatted) {
+            final Object[] encodedPathParams = pathParams.stream().map(PathTemplate::encode).toArray();
+            uri = new StringBuilder(String.format(template, encodedPathParams));
+        } else {
+            final int slots = literals.length - 1;
+            if (pathParams.size() < slots) {
+                throw new MissingFormatArgumentException("%s");
+            }
+            uri = new StringBuilder(literalsLength + 16 * slots + 32 * queryParams.size());
+            uri.append(literals[0]);
+            for (int i = 0; i < slots; i++) {
+                appendEncoded(uri, pathParams.get(i));
+                uri.append(literals[i + 1]);
+            }
+        }
+        if (!queryParams.isEmpty()) {
+            char separator = '?';
+            //Iterate over query params list so we can add multiple query params with the same key
+            for (Map.Entry<String, List<String>> param : queryParams.entrySet()) {
+                for (String value : param.getValue()) {
+                    uri.append(separator);
+                    appendEncoded(uri, param.getKey());
+                    uri.append('=');
+                    appendEncoded(uri, value);
+                    separator = '&';
+                }
+            }
+        }
+        return uri.toString();
+    }
+
+    /**
+     * @return the value percent-encoded for use in a path segment or in a query
+     */
+    public static String encode(String value) {
+        final StringBuilder encoded = new StringBuilder(value.length() + 8);
+        appendEncoded(encoded, value);
+        return encoded.toString();
+    }
+
+    private static void appendEncoded(StringBuilder out, String value) {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (isUnreserved(c)) {
+                out.append(c);
+            } else {
+                //slow path, the remainder is encoded from its UTF-8 bytes
+                final byte[] bytes = value.substring(i).getBytes(StandardCharsets.UTF_8);
+                for (byte b : bytes) {
+                    if (b >= 0 && isUnreserved((char) b)) {
+                        out.append((char) b);
+                    } else {
+                        out.append('%').append(HEX[(b >> 4) & 0x0F]).append(HEX[b & 0x0F]);
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
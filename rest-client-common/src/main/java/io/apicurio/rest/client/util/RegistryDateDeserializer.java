@@ -19,67 +19,170 @@ package io.apicurio.rest.client.util;
 import com.fasterxml.jackson.core.JacksonException;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 
 import java.io.IOException;
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 
 /**
  * A custom date deserializer for backwards compatibility.  Handles the date formats from 2.3.1.Final and also
  * 2.4.0.Final (where we fixed the server-side date format returned by the API).
+ * <p>
+ * Dates are parsed from the characters of the current token, without intermediate tree or string, as ISO-8601
+ * date times {@code yyyy-MM-dd'T'HH:mm:ss[.S...]} followed by {@code Z} or an offset in the {@code +HHmm},
+ * {@code +HH:mm} or {@code +HH} forms. Numbers are read as milliseconds since the epoch.
  * @author eric.wittmann@gmail.com
  */
 public class RegistryDateDeserializer extends JsonDeserializer<Date> {
 
+    private static final long INVALID = Long.MIN_VALUE;
+    private static final int MILLIS_PER_SECOND = 1000;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int SECONDS_PER_DAY = 86400;
+
     /**
-     * thread-safe DateFormat, @see https://www.javacodegeeks.com/2010/07/java-best-practices-dateformat-in.html
+     * @see JsonDeserializer#deserialize(JsonParser, DeserializationContext)
      */
-    private ThreadLocal<DateFormat> dateFormat = new ThreadLocal<>() {
-
-        @Override
-        public DateFormat get() {
-            return super.get();
+    @Override
+    public Date deserialize(JsonParser parser, DeserializationContext context) throws IOException, JacksonException {
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return new Date(parser.getLongValue());
         }
-
-        @Override
-        protected DateFormat initialValue() {
-            return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ");
+        if (token == JsonToken.VALUE_STRING) {
+            final long millis = parseMillis(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (millis != INVALID) {
+                return new Date(millis);
+            }
         }
+        throw new JsonParseException(parser, "Failed to parse date (not a supported format).");
+    }
 
-        @Override
-        public void remove() {
-            super.remove();
+    /**
+     * @return the milliseconds since the epoch of the date time, or {@link #INVALID} if it is not in a supported
+     * format
+     */
+    static long parseMillis(char[] text, int offset, int length) {
+        //yyyy-MM-ddTHH:mm:ss is followed by at least one zone char
+        if (length < 20) {
+            return INVALID;
         }
-
-        @Override
-        public void set(DateFormat value) {
-            super.set(value);
+        final int end = offset + length;
+        final int year = digits(text, offset, 4);
+        final int month = digits(text, offset + 5, 2);
+        final int day = digits(text, offset + 8, 2);
+        final int hour = digits(text, offset + 11, 2);
+        final int minute = digits(text, offset + 14, 2);
+        final int second = digits(text, offset + 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month) || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59
+                || text[offset + 4] != '-' || text[offset + 7] != '-' || (text[offset + 10] != 'T' && text[offset + 10] != 't')
+                || text[offset + 13] != ':' || text[offset + 16] != ':') {
+            return INVALID;
+        }
+        int position = offset + 19;
+        int millis = 0;
+        if (text[position] == '.') {
+            //only the milliseconds of a finer fraction are kept
+            final int fractionStart = ++position;
+            while (position < end && isDigit(text[position])) {
+                if (position - fractionStart < 3) {
+                    millis = millis * 10 + (text[position] - '0');
+                }
+                position++;
+            }
+            final int fractionLength = position - fractionStart;
+            if (fractionLength == 0 || fractionLength > 9) {
+                return INVALID;
+            }
+            for (int i = fractionLength; i < 3; i++) {
+                millis *= 10;
+            }
         }
+        final int offsetSeconds = zoneOffsetSeconds(text, position, end);
+        if (offsetSeconds == Integer.MIN_VALUE) {
+            return INVALID;
+        }
+        final long epochSeconds = daysSinceEpoch(year, month, day) * SECONDS_PER_DAY
+                + hour * SECONDS_PER_HOUR + minute * SECONDS_PER_MINUTE + second - offsetSeconds;
+        return epochSeconds * MILLIS_PER_SECOND + millis;
+    }
 
-    };
+    /**
+     * @return the offset in seconds of the zone spanning the rest of the text, or {@code Integer.MIN_VALUE} if it
+     * is invalid
+     */
+    private static int zoneOffsetSeconds(char[] text, int position, int end) {
+        final int length = end - position;
+        if (length == 1 && (text[position] == 'Z' || text[position] == 'z')) {
+            return 0;
+        }
+        if (length < 3 || (text[position] != '+' && text[position] != '-')) {
+            return Integer.MIN_VALUE;
+        }
+        final int hours = digits(text, position + 1, 2);
+        final int minutes;
+        if (length == 3) {
+            minutes = 0;
+        } else if (length == 5) {
+            minutes = digits(text, position + 3, 2);
+        } else if (length == 6 && text[position + 3] == ':') {
+            minutes = digits(text, position + 4, 2);
+        } else {
+            return Integer.MIN_VALUE;
+        }
+        if (hours < 0 || hours > 18 || minutes < 0 || minutes > 59) {
+            return Integer.MIN_VALUE;
+        }
+        final int seconds = hours * SECONDS_PER_HOUR + minutes * SECONDS_PER_MINUTE;
+        return text[position] == '-' ? -seconds : seconds;
+    }
 
     /**
-     * @see JsonDeserializer#deserialize(JsonParser, DeserializationContext)
+     * @return the value of the decimal digits, or -1 if one of the chars is not a digit
      */
-    @Override
-    public Date deserialize(JsonParser parser, DeserializationContext context) throws IOException, JacksonException {
-        JsonNode node = parser.getCodec().readTree(parser);
-        String date = node.textValue();
-        
-        // Handle zulu timezone and convert to RFC 822.
-        if (date != null && date.endsWith("Z")) {
-            date = date.replace("Z", "+0000");
+    private static int digits(char[] text, int position, int count) {
+        int value = 0;
+        for (int i = position; i < position + count; i++) {
+            if (!isDigit(text[i])) {
+                return -1;
+            }
+            value = value * 10 + (text[i] - '0');
         }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
 
-        try {
-            return dateFormat.get().parse(date);
-        } catch (ParseException e) {
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
         }
-        throw new JsonParseException(parser, "Failed to parse date (not a supported format).");
+    }
+
+    /**
+     * Days from 1970-01-01 to a date of the proleptic Gregorian calendar, counted from March so that the leap day
+     * ends the year.
+     */
+    private static long daysSinceEpoch(int year, int month, int day) {
+        final int y = month <= 2 ? year - 1 : year;
+        final int era = (y >= 0 ? y : y - 399) / 400;
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
     }
 }
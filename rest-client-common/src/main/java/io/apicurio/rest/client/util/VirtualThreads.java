@@ -0,0 +1,75 @@
+package io.apicurio.rest.client.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to the virtual threads of Java 21 and later from code compiled for Java 11, the methods are looked up
+ * once by reflection.
+ */
+public final class VirtualThreads {
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR;
+    private static final Method IS_VIRTUAL;
+
+    static {
+        Method newExecutor = null;
+        Method isVirtual = null;
+        //virtual threads are a preview feature of Java 19 and 20, which throws unless enabled
+        if (Runtime.version().feature() >= 21) {
+            try {
+                newExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                isVirtual = Thread.class.getMethod("isVirtual");
+            } catch (NoSuchMethodException e) {
+                newExecutor = null;
+                isVirtual = null;
+            }
+        }
+        NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = newExecutor;
+        IS_VIRTUAL = isVirtual;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if the running JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * @return an executor starting a new virtual thread for each task
+     * @throws UnsupportedOperationException if the running JVM does not support virtual threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later, running " + Runtime.version());
+        }
+        return (ExecutorService) invoke(NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR, null);
+    }
+
+    /**
+     * @return true if the thread is a virtual thread
+     */
+    public static boolean isVirtual(Thread thread) {
+        return IS_VIRTUAL != null && (Boolean) invoke(IS_VIRTUAL, thread);
+    }
+
+    private static Object invoke(Method method, Object target) {
+        try {
+            return method.invoke(target);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package io.apicurio.rest.client;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.http.HttpClient;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A JDK http client, with its selector thread, connection pool and SSL context, and the executor it runs on.
+ * Transports acquired with a key are shared by the {@link JdkHttpClient} instances configured with the same
+ * transport settings and reference counted, they are released once the last client using them is closed: the
+ * executor is shut down, and so is the http client on Java 21 and later, older versions stopping its selector
+ * thread once it is no longer referenced.
+ */
+final class HttpTransport {
+
+    private static final Method SHUTDOWN = shutdownMethod();
+
+    private static final ReentrantLock LOCK = new ReentrantLock();
+    private static final Map<Object, HttpTransport> SHARED = new HashMap<>();
+
+    private final Object key;
+    private final HttpClient client;
+    private final ExecutorService executor;
+    //guarded by the lock for shared transports
+    private int references = 1;
+
+    HttpTransport(Object key, HttpClient client, ExecutorService executor) {
+        this.key = key;
+        this.client = client;
+        this.executor = executor;
+    }
+
+    /**
+     * @param key the transport settings, or null for a transport that is not shared
+     * @param factory creates the transport when none is shared for the key, with the given key
+     * @return the transport shared for the key, to be released by the caller once done with it
+     */
+    static HttpTransport acquire(Object key, Supplier<HttpTransport> factory) {
+        if (key == null) {
+            return factory.get();
+        }
+        LOCK.lock();
+        try {
+            final HttpTransport transport = SHARED.get(key);
+            if (transport != null) {
+                transport.references++;
+                return transport;
+            }
+            final HttpTransport created = factory.get();
+            SHARED.put(key, created);
+            return created;
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    HttpClient getClient() {
+        return client;
+    }
+
+    /**
+     * @return the executor of the http client, or null when it runs on its default cached thread pool
+     */
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Releases one reference to the transport, shutting it down once no client uses it anymore.
+     */
+    void release() {
+        if (key != null) {
+            LOCK.lock();
+            try {
+                if (--references > 0) {
+                    return;
+                }
+                SHARED.remove(key, this);
+            } finally {
+                LOCK.unlock();
+            }
+        }
+        shutdown();
+    }
+
+    private void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        if (SHUTDOWN != null) {
+            //requests already sent run to completion
+            try {
+                SHUTDOWN.invoke(client);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                //the client is released once unreferenced
+            }
+        }
+    }
+
+    private static Method shutdownMethod() {
+        try {
+            return HttpClient.class.getMethod("shutdown");
+        } catch (NoSuchMethodException e) {
+            //before Java 21
+            return null;
+        }
+    }
+}
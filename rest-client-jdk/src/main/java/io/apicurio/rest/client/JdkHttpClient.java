@@ -1,25 +1,52 @@
 package io.apicurio.rest.client;
 
 
+import static io.apicurio.rest.client.util.ConfigUtil.toBoolean;
 import static java.util.Objects.requireNonNull;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.security.KeyManagementException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import javax.net.ssl.KeyManager;
@@ -30,12 +57,30 @@ import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509TrustManager;
 
 import io.apicurio.rest.client.auth.Auth;
+import io.apicurio.rest.client.cache.CachedResponse;
+import io.apicurio.rest.client.cache.ResponseCache;
+import io.apicurio.rest.client.compression.Compression;
 import io.apicurio.rest.client.config.ApicurioClientConfig;
 import io.apicurio.rest.client.error.RestClientErrorHandler;
 import io.apicurio.rest.client.handler.BodyHandler;
+import io.apicurio.rest.client.handler.DeadlineBodyHandler;
+import io.apicurio.rest.client.handler.RetryingBodyHandler;
+import io.apicurio.rest.client.request.ExchangeRecorder;
+import io.apicurio.rest.client.request.NextRequestHeaders;
+import io.apicurio.rest.client.request.Operation;
 import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.request.RequestCoalescer;
+import io.apicurio.rest.client.request.RequestKey;
+import io.apicurio.rest.client.request.RequestTimeouts;
+import io.apicurio.rest.client.request.ResponseMode;
+import io.apicurio.rest.client.request.RetryPolicy;
 import io.apicurio.rest.client.spi.ApicurioHttpClient;
+import io.apicurio.rest.client.spi.ClientMetrics;
+import io.apicurio.rest.client.util.ConfigUtil;
+import io.apicurio.rest.client.util.IoUtil;
+import io.apicurio.rest.client.util.JsonCodec;
 import io.apicurio.rest.client.util.UriUtil;
+import io.apicurio.rest.client.util.VirtualThreads;
 
 /**
  * @author Carles Arnal 'carnalca@redhat.com'
@@ -43,13 +88,36 @@ import io.apicurio.rest.client.util.UriUtil;
 public class JdkHttpClient implements ApicurioHttpClient {
 
     public static final String INVALID_EMPTY_HTTP_KEY = "";
+    private static final String JDK_CONNECTION_POOL_SIZE = "jdk.httpclient.connectionPoolSize";
+    private static final String JDK_KEEP_ALIVE_TIMEOUT = "jdk.httpclient.keepalive.timeout";
+    private static final Logger LOGGER = Logger.getLogger(JdkHttpClient.class.getName());
+    //the jdk reads its pool properties once, when the first of its http clients is created
+    private static final AtomicBoolean HTTP_CLIENT_CREATED = new AtomicBoolean();
+    private static final List<String> TLS_CONFIGS = List.of(ApicurioClientConfig.APICURIO_REQUEST_CA_BUNDLE_LOCATION,
+            ApicurioClientConfig.APICURIO_REQUEST_TRUSTSTORE_LOCATION, ApicurioClientConfig.APICURIO_REQUEST_TRUSTSTORE_TYPE,
+            ApicurioClientConfig.APICURIO_REQUEST_TRUSTSTORE_PASSWORD, ApicurioClientConfig.APICURIO_REQUEST_KEYSTORE_LOCATION,
+            ApicurioClientConfig.APICURIO_REQUEST_KEYSTORE_TYPE, ApicurioClientConfig.APICURIO_REQUEST_KEYSTORE_PASSWORD,
+            ApicurioClientConfig.APICURIO_REQUEST_KEY_PASSWORD);
+    private static final List<String> TLS_LOCATIONS = List.of(ApicurioClientConfig.APICURIO_REQUEST_CA_BUNDLE_LOCATION,
+            ApicurioClientConfig.APICURIO_REQUEST_TRUSTSTORE_LOCATION, ApicurioClientConfig.APICURIO_REQUEST_KEYSTORE_LOCATION);
+    private final HttpTransport transport;
     private final HttpClient client;
+    private final ExecutorService executor;
     private final String endpoint;
     private final Auth auth;
+    private final Map<String, String> staticAuthHeaders;
     private final RestClientErrorHandler errorHandler;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer coalescer;
+    private final RetryPolicy retryPolicy;
+    private final RequestTimeouts timeouts;
+    private final Compression compression;
+    private final JsonCodec jsonCodec;
+    private final ClientMetrics metrics;
 
     private final Map<String, String> DEFAULT_HEADERS = new HashMap<>();
-    private static final ThreadLocal<Map<String, String>> requestHeaders = ThreadLocal.withInitial(Collections::emptyMap);
+    private final NextRequestHeaders nextRequestHeaders = new NextRequestHeaders();
+    private final AtomicBoolean closed = new AtomicBoolean();
 
     public JdkHttpClient(String endpoint, Map<String, Object> configs, Auth auth, RestClientErrorHandler errorHandler) {
         if (!endpoint.endsWith("/")) {
@@ -62,19 +130,164 @@ public class JdkHttpClient implements ApicurioHttpClient {
             }
         }
 
-        final HttpClient.Builder httpClientBuilder = handleConfiguration(configs);
+        addHeaders(configs);
+        final Object transportKey = transportKey(configs);
+        this.transport = HttpTransport.acquire(transportKey, () -> createTransport(transportKey, configs));
+        this.client = transport.getClient();
+        this.executor = transport.getExecutor();
         this.endpoint = endpoint;
         this.auth = auth;
-        this.client = httpClientBuilder.build();
+        this.staticAuthHeaders = auth == null ? Collections.emptyMap() : Map.copyOf(auth.getStaticHeaders());
         this.errorHandler = errorHandler;
+        this.responseCache = ResponseCache.fromConfig(configs);
+        this.coalescer = RequestCoalescer.fromConfig(configs);
+        this.retryPolicy = RetryPolicy.fromConfig(configs);
+        this.timeouts = RequestTimeouts.fromConfig(configs);
+        this.compression = Compression.fromConfig(configs);
+        this.jsonCodec = JsonCodec.fromConfig(configs);
+        this.metrics = ClientMetrics.fromConfig(configs);
+    }
+
+    /**
+     * @return the settings of the http client built from the configuration, or null if it is not shared
+     */
+    private static Object transportKey(Map<String, Object> configs) {
+        final Object sharedTransport = configs.get(ApicurioClientConfig.APICURIO_CLIENT_SHARED_TRANSPORT);
+        if (sharedTransport != null && !toBoolean(sharedTransport)) {
+            return null;
+        }
+        final Map<String, Object> key = new HashMap<>();
+        key.put(ApicurioClientConfig.APICURIO_REQUEST_HTTP_VERSION, getHttpVersion(configs));
+        key.put(ApicurioClientConfig.APICURIO_REQUEST_CONNECT_TIMEOUT, ConfigUtil.getLong(configs, ApicurioClientConfig.APICURIO_REQUEST_CONNECT_TIMEOUT));
+        key.put(ApicurioClientConfig.APICURIO_CLIENT_VIRTUAL_THREADS, toBoolean(configs.get(ApicurioClientConfig.APICURIO_CLIENT_VIRTUAL_THREADS)));
+        try {
+            key.put("tls", tlsDigest(configs));
+        } catch (IOException | InvalidPathException e) {
+            //not shared, the store is reported as unreadable when the transport is created
+            return null;
+        }
+        return key;
+    }
+
+    /**
+     * @return a digest of the TLS settings and of the contents of the stores they point to, so that the shared
+     * transports neither keep the passwords nor are reused once a store is replaced in place, or null if TLS is
+     * not configured
+     */
+    private static String tlsDigest(Map<String, Object> configs) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        boolean configured = false;
+        for (String tlsConfig : TLS_CONFIGS) {
+            final Object value = configs.get(tlsConfig);
+            if (value == null) {
+                continue;
+            }
+            configured = true;
+            digest.update(tlsConfig.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            if (TLS_LOCATIONS.contains(tlsConfig)) {
+                digest.update(Files.readAllBytes(Path.of(String.valueOf(value))));
+            }
+        }
+        return configured ? Base64.getEncoder().encodeToString(digest.digest()) : null;
     }
 
-    private HttpClient.Builder handleConfiguration(Map<String, Object> configs) {
+    private static HttpTransport createTransport(Object transportKey, Map<String, Object> configs) {
         HttpClient.Builder clientBuilder = HttpClient.newBuilder();
-        clientBuilder.version(HttpClient.Version.HTTP_1_1);
-        addHeaders(configs);
+        clientBuilder.version(getHttpVersion(configs));
+        configurePool(clientBuilder, configs);
         clientBuilder = addSSL(clientBuilder, configs);
-        return clientBuilder;
+        final ExecutorService executor = createExecutor(configs);
+        if (executor != null) {
+            clientBuilder.executor(executor);
+        }
+        final HttpClient httpClient = clientBuilder.build();
+        HTTP_CLIENT_CREATED.set(true);
+        return new HttpTransport(transportKey, httpClient, executor);
+    }
+
+    /**
+     * @return the executor of the http client, or null to keep its default cached thread pool
+     */
+    private static ExecutorService createExecutor(Map<String, Object> configs) {
+        if (toBoolean(configs.get(ApicurioClientConfig.APICURIO_CLIENT_VIRTUAL_THREADS)) && VirtualThreads.isSupported()) {
+            return VirtualThreads.newVirtualThreadPerTaskExecutor();
+        }
+        return null;
+    }
+
+    private static HttpClient.Version getHttpVersion(Map<String, Object> configs) {
+        Object version = configs.get(ApicurioClientConfig.APICURIO_REQUEST_HTTP_VERSION);
+        if (version == null) {
+            return HttpClient.Version.HTTP_1_1;
+        }
+        if (version instanceof HttpClient.Version) {
+            return (HttpClient.Version) version;
+        }
+        try {
+            return HttpClient.Version.valueOf(version.toString().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported http version " + version + ", expected one of " + Arrays.toString(HttpClient.Version.values()));
+        }
+    }
+
+    /**
+     * The JDK http client does not expose pool settings per client, the pool size and keep-alive timeout are
+     * JVM wide system properties read once when the first client is created. Pipelining, the wait queue and
+     * disabling keep-alive have no equivalent.
+     */
+    private static void configurePool(HttpClient.Builder clientBuilder, Map<String, Object> configs) {
+        Long connectTimeout = ConfigUtil.getLong(configs, ApicurioClientConfig.APICURIO_REQUEST_CONNECT_TIMEOUT);
+        if (connectTimeout != null) {
+            clientBuilder.connectTimeout(Duration.ofMillis(connectTimeout));
+        }
+        setPoolProperties(configs, HTTP_CLIENT_CREATED.get());
+    }
+
+    /**
+     * Sets the pool properties of the JDK from the given configs, unless they are already set, by the
+     * application or by a client created before, or the JDK already read them.
+     *
+     * @param httpClientCreated whether a JDK http client was already created, the properties then being ignored
+     */
+    static void setPoolProperties(Map<String, Object> configs, boolean httpClientCreated) {
+        Integer maxPoolSize = ConfigUtil.getInteger(configs, ApicurioClientConfig.APICURIO_REQUEST_POOL_MAX_SIZE);
+        if (maxPoolSize != null) {
+            setSystemPropertyIfAbsent(ApicurioClientConfig.APICURIO_REQUEST_POOL_MAX_SIZE, JDK_CONNECTION_POOL_SIZE, maxPoolSize, httpClientCreated);
+        }
+        String keepAliveConfig = ApicurioClientConfig.APICURIO_REQUEST_KEEP_ALIVE_TIMEOUT;
+        Integer keepAliveTimeout = ConfigUtil.getInteger(configs, keepAliveConfig);
+        if (keepAliveTimeout == null) {
+            //idle connections are evicted from the jdk pool once the keep-alive timeout expires
+            keepAliveConfig = ApicurioClientConfig.APICURIO_REQUEST_IDLE_TIMEOUT;
+            keepAliveTimeout = ConfigUtil.getInteger(configs, keepAliveConfig);
+        }
+        if (keepAliveTimeout != null) {
+            setSystemPropertyIfAbsent(keepAliveConfig, JDK_KEEP_ALIVE_TIMEOUT, keepAliveTimeout, httpClientCreated);
+        }
+    }
+
+    private static void setSystemPropertyIfAbsent(String config, String property, Object value, boolean httpClientCreated) {
+        final String current = System.getProperty(property);
+        final String requested = String.valueOf(value);
+        if (current != null) {
+            if (!current.equals(requested)) {
+                LOGGER.warning(() -> "Ignoring " + config + "=" + requested + ", the JVM wide " + property
+                        + " system property is already set to " + current);
+            }
+        } else if (httpClientCreated) {
+            LOGGER.warning(() -> "Ignoring " + config + "=" + requested + ", the JVM wide " + property
+                    + " system property is only read before the first JDK http client is created");
+        } else {
+            System.setProperty(property, requested);
+        }
     }
 
     private void addHeaders(Map<String, Object> configs) {
@@ -157,80 +370,441 @@ public class JdkHttpClient implements ApicurioHttpClient {
 
     @Override
     public <T> T sendRequest(Request<T> request) {
+        final ExchangeRecorder recorder = ExchangeRecorder.start(metrics, request);
         try {
-            requireNonNull(request.getOperation(), "Request operation cannot be null");
-            requireNonNull(request.getResponseType(), "Response type cannot be null");
+            final RequestTimeouts requestTimeouts = timeouts.forRequest(request);
+            final RetryPolicy.Retries retries = retryPolicy == null ? null : retryPolicy.start(request);
+            final HttpRequest.Builder requestBuilder = prepareRequest(request, retries, requestTimeouts);
+            final T result;
+            if (isCoalescable(request)) {
+                result = coalescer.execute(coalescingKey(requestBuilder.build()), () -> send(request, requestBuilder, recorder, retries, requestTimeouts));
+            } else {
+                result = send(request, requestBuilder, recorder, retries, requestTimeouts);
+            }
+            recorder.complete(null);
+            return result;
+        } catch (RuntimeException e) {
+            recorder.complete(e);
+            throw e;
+        }
+    }
 
-            final HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
-                    .uri(UriUtil.buildURI(endpoint + request.getRequestPath(), request.getQueryParams(), request.getPathParams()));
+    private <T> T send(Request<T> request, HttpRequest.Builder requestBuilder, ExchangeRecorder recorder, RetryPolicy.Retries retries,
+                       RequestTimeouts requestTimeouts) {
+        try {
+            if (isCacheable(request)) {
+                return sendCachedRequest(request, requestBuilder, recorder, retries, requestTimeouts);
+            }
+            final HttpRequest httpRequest = requestBuilder.build();
+            final HttpResponse<Supplier<T>> response = exchange(httpRequest, bodyHandler(request, requestTimeouts, false), retries, requestTimeouts);
+            recordResponse(recorder, httpRequest, response);
+            return response.body().get();
 
-            DEFAULT_HEADERS.forEach(requestBuilder::header);
+        } catch (IOException | InterruptedException e) {
+            throw errorHandler.parseError(e);
+        }
+    }
 
-            //Add current request headers
-            requestHeaders.get().forEach(requestBuilder::header);
-            requestHeaders.remove();
+    /**
+     * Sends the request, again as long as the retry policy asks for it and the deadline allows it.
+     */
+    private <R> HttpResponse<R> exchange(HttpRequest httpRequest, HttpResponse.BodyHandler<R> bodyHandler, RetryPolicy.Retries retries,
+                                         RequestTimeouts requestTimeouts) throws IOException, InterruptedException {
+        if (retries == null) {
+            return sendAttempt(httpRequest, bodyHandler, requestTimeouts);
+        }
+        while (true) {
+            final RetryingBodyHandler<R> retryingBodyHandler = new RetryingBodyHandler<>(bodyHandler, retries);
+            long retryDelay;
+            try {
+                final HttpResponse<R> response = sendAttempt(httpRequest, retryingBodyHandler, requestTimeouts);
+                retryDelay = retryingBodyHandler.getRetryDelay();
+                if (retryDelay < 0) {
+                    return response;
+                }
+            } catch (IOException e) {
+                retryDelay = retries.retryDelay(e);
+                if (retryDelay < 0) {
+                    throw e;
+                }
+            }
+            if (retryDelay >= requestTimeouts.remainingMillis()) {
+                throw new HttpTimeoutException(requestTimeouts.deadlineMessage());
+            }
+            Thread.sleep(retryDelay);
+        }
+    }
 
-            Map<String, String> headers = request.getHeaders();
-            if (this.auth != null) {
-                //make headers mutable...
-                headers = new HashMap<>(headers);
-                this.auth.apply(headers);
+    /**
+     * Sends a single attempt of the request, aborting its exchange if it did not complete by the deadline.
+     * Aborting relies on the cancellation of the async exchange, which releases its connection since JDK 16.
+     */
+    private <R> HttpResponse<R> sendAttempt(HttpRequest httpRequest, HttpResponse.BodyHandler<R> bodyHandler, RequestTimeouts requestTimeouts)
+            throws IOException, InterruptedException {
+        if (!requestTimeouts.hasDeadline()) {
+            return client.send(httpRequest, bodyHandler);
+        }
+        final CompletableFuture<HttpResponse<R>> attempt = client.sendAsync(httpRequest, bodyHandler);
+        try {
+            return attempt.get(requestTimeouts.remainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            attempt.cancel(true);
+            throw new HttpTimeoutException(requestTimeouts.deadlineMessage());
+        } catch (InterruptedException e) {
+            attempt.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
             }
-            headers.forEach(requestBuilder::header);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
 
-            switch (request.getOperation()) {
-                case GET:
-                    requestBuilder.GET();
-                    break;
-                case PUT:
-                    requestBuilder.PUT(HttpRequest.BodyPublishers.ofByteArray(request.getData().readAllBytes()));
-                    break;
-                case POST:
-                    if (request.getDataString() != null) {
-                        requestBuilder.POST(HttpRequest.BodyPublishers.ofString(request.getDataString()));
-                    } else {
-                        requestBuilder.POST(HttpRequest.BodyPublishers.ofByteArray(request.getData().readAllBytes()));
+    /**
+     * Async counterpart of {@link #sendAttempt(HttpRequest, HttpResponse.BodyHandler, RequestTimeouts)}.
+     */
+    private <R> CompletableFuture<HttpResponse<R>> sendAttemptAsync(HttpRequest httpRequest, HttpResponse.BodyHandler<R> bodyHandler,
+                                                                    RequestTimeouts requestTimeouts) {
+        final CompletableFuture<HttpResponse<R>> attempt = client.sendAsync(httpRequest, bodyHandler);
+        if (!requestTimeouts.hasDeadline()) {
+            return attempt;
+        }
+        //the timer of orTimeout is cancelled as soon as the copy completes with the attempt
+        return attempt.copy()
+                .orTimeout(requestTimeouts.remainingMillis(), TimeUnit.MILLISECONDS)
+                .handle((response, failure) -> {
+                    if (failure instanceof TimeoutException) {
+                        attempt.cancel(true);
+                        throw new CompletionException(new HttpTimeoutException(requestTimeouts.deadlineMessage()));
+                    }
+                    if (failure != null) {
+                        throw failure instanceof CompletionException ? (CompletionException) failure : new CompletionException(failure);
                     }
-                    break;
-                case DELETE:
-                    requestBuilder.DELETE();
-                    break;
-                default:
-                    throw new IllegalStateException("Operation not allowed");
+                    return response;
+                });
+    }
+
+    /**
+     * @return the handler reading the response body as the type of the request, which may be read after the
+     * exchange completed and is therefore bound to the deadline separately
+     */
+    private <T> HttpResponse.BodyHandler<Supplier<T>> bodyHandler(Request<T> request, RequestTimeouts requestTimeouts, boolean nonBlocking) {
+        final BodyHandler<T> bodyHandler = nonBlocking ? BodyHandler.nonBlocking(request, errorHandler, jsonCodec) : new BodyHandler<>(request, errorHandler, jsonCodec);
+        if (!requestTimeouts.hasDeadline() || request.getResponseMode().isStreamed()) {
+            return bodyHandler;
+        }
+        return new DeadlineBodyHandler<>(bodyHandler, requestTimeouts);
+    }
+
+    @Override
+    public <T> CompletionStage<T> sendRequestAsync(Request<T> request) {
+        final ExchangeRecorder recorder = ExchangeRecorder.start(metrics, request);
+        try {
+            final RequestTimeouts requestTimeouts = timeouts.forRequest(request);
+            final RetryPolicy.Retries retries = retryPolicy == null ? null : retryPolicy.start(request);
+            final HttpRequest.Builder requestBuilder = prepareRequest(request, retries, requestTimeouts);
+            if (isCoalescable(request)) {
+                return recorder.record(coalescer.executeAsync(coalescingKey(requestBuilder.build()),
+                        () -> sendAsync(request, requestBuilder, recorder, retries, requestTimeouts)));
             }
+            return recorder.record(sendAsync(request, requestBuilder, recorder, retries, requestTimeouts));
+        } catch (Exception e) {
+            return recorder.record(CompletableFuture.failedFuture(toClientException(e)));
+        }
+    }
 
-            return client.send(requestBuilder.build(), new BodyHandler<>(request.getResponseType(), errorHandler))
-                    .body()
-                    .get();
+    private <T> CompletableFuture<T> sendAsync(Request<T> request, HttpRequest.Builder requestBuilder, ExchangeRecorder recorder, RetryPolicy.Retries retries,
+                                               RequestTimeouts requestTimeouts) {
+        if (isCacheable(request)) {
+            return sendCachedRequestAsync(request, requestBuilder, recorder, retries, requestTimeouts);
+        }
+        //the body is read by the body handler before the response completes, the supplier only hands it over
+        return exchangeAsync(requestBuilder.build(), bodyHandler(request, requestTimeouts, true), response -> response.body().get(),
+                recorder, retries, requestTimeouts);
+    }
 
-        } catch (IOException | InterruptedException e) {
-            throw errorHandler.parseError(e);
+    private <R, T> CompletableFuture<T> exchangeAsync(HttpRequest httpRequest, HttpResponse.BodyHandler<R> bodyHandler, Function<HttpResponse<R>, T> bodyMapper,
+                                                      ExchangeRecorder recorder, RetryPolicy.Retries retries, RequestTimeouts requestTimeouts) {
+        final CompletableFuture<T> resultHolder = new CompletableFuture<>();
+        sendAsyncWithRetries(httpRequest, bodyHandler, retries, requestTimeouts)
+                .whenComplete((response, failure) -> {
+                    if (failure != null) {
+                        resultHolder.completeExceptionally(toClientException(failure));
+                        return;
+                    }
+                    recordResponse(recorder, httpRequest, response);
+                    try {
+                        resultHolder.complete(bodyMapper.apply(response));
+                    } catch (Exception e) {
+                        resultHolder.completeExceptionally(e);
+                    }
+                });
+        return resultHolder;
+    }
+
+    /**
+     * Sends the request, again after the backoff delay as long as the retry policy asks for it and the deadline
+     * allows it.
+     */
+    private <R> CompletableFuture<HttpResponse<R>> sendAsyncWithRetries(HttpRequest httpRequest, HttpResponse.BodyHandler<R> bodyHandler, RetryPolicy.Retries retries,
+                                                                        RequestTimeouts requestTimeouts) {
+        if (retries == null) {
+            return sendAttemptAsync(httpRequest, bodyHandler, requestTimeouts);
         }
+        final RetryingBodyHandler<R> retryingBodyHandler = new RetryingBodyHandler<>(bodyHandler, retries);
+        return sendAttemptAsync(httpRequest, retryingBodyHandler, requestTimeouts)
+                .handle((response, failure) -> {
+                    final long retryDelay = failure == null ? retryingBodyHandler.getRetryDelay() : retries.retryDelay(failure);
+                    if (retryDelay < 0) {
+                        return failure == null ? CompletableFuture.completedFuture(response) : CompletableFuture.<HttpResponse<R>>failedFuture(failure);
+                    }
+                    if (retryDelay >= requestTimeouts.remainingMillis()) {
+                        return CompletableFuture.<HttpResponse<R>>failedFuture(new HttpTimeoutException(requestTimeouts.deadlineMessage()));
+                    }
+                    return CompletableFuture.runAsync(() -> {
+                    }, CompletableFuture.delayedExecutor(retryDelay, TimeUnit.MILLISECONDS, retryExecutor()))
+                            .thenCompose(ignored -> sendAsyncWithRetries(httpRequest, bodyHandler, retries, requestTimeouts));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * @return the executor sending the retries, the one of the http client when it is not the default one
+     */
+    private Executor retryExecutor() {
+        return executor == null ? ForkJoinPool.commonPool() : executor;
+    }
+
+    private boolean isCoalescable(Request<?> request) {
+        return coalescer != null && request.getOperation() == Operation.GET && request.getResponseMode().isShareable();
+    }
+
+    private static String coalescingKey(HttpRequest httpRequest) {
+        return httpRequest.method() + ' ' + RequestKey.of(httpRequest.uri().toString(), headerEntries(httpRequest));
+    }
+
+    private boolean isCacheable(Request<?> request) {
+        //files are written straight to disk instead of being held by the cache
+        return responseCache != null && request.getOperation() == Operation.GET && request.getResponseMode() != ResponseMode.FILE;
+    }
+
+    private static void recordResponse(ExchangeRecorder recorder, HttpRequest httpRequest, HttpResponse<?> response) {
+        final long requestBytes = httpRequest.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+        final long responseBytes = response.body() instanceof byte[]
+                ? ((byte[]) response.body()).length
+                : response.headers().firstValueAsLong("Content-Length").orElse(-1L);
+        recorder.response(response.statusCode(), requestBytes, responseBytes);
+    }
+
+    private <T> T sendCachedRequest(Request<T> request, HttpRequest.Builder requestBuilder, ExchangeRecorder recorder, RetryPolicy.Retries retries,
+                                    RequestTimeouts requestTimeouts) throws IOException, InterruptedException {
+        final HttpRequest httpRequest = requestBuilder.build();
+        final String key = cacheKey(httpRequest);
+        final CachedResponse cached = responseCache.get(key);
+        if (cached != null && cached.isFresh()) {
+            return BodyHandler.readBody(IoUtil.toStream(cached.getBody()), 200, request, errorHandler, jsonCodec);
+        }
+        final HttpRequest exchangedRequest = conditionalRequest(httpRequest, requestBuilder, cached);
+        final HttpResponse<byte[]> response = exchange(exchangedRequest, HttpResponse.BodyHandlers.ofByteArray(), retries, requestTimeouts);
+        recordResponse(recorder, exchangedRequest, response);
+        return readCacheableResponse(key, cached, response, request);
+    }
+
+    private <T> CompletableFuture<T> sendCachedRequestAsync(Request<T> request, HttpRequest.Builder requestBuilder, ExchangeRecorder recorder,
+                                                            RetryPolicy.Retries retries, RequestTimeouts requestTimeouts) {
+        final HttpRequest httpRequest = requestBuilder.build();
+        final String key = cacheKey(httpRequest);
+        final CachedResponse cached = responseCache.get(key);
+        if (cached != null && cached.isFresh()) {
+            try {
+                return CompletableFuture.completedFuture(BodyHandler.readBody(IoUtil.toStream(cached.getBody()), 200, request, errorHandler, jsonCodec));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return exchangeAsync(conditionalRequest(httpRequest, requestBuilder, cached), HttpResponse.BodyHandlers.ofByteArray(),
+                response -> readCacheableResponse(key, cached, response, request), recorder, retries, requestTimeouts);
+    }
+
+    private static HttpRequest conditionalRequest(HttpRequest httpRequest, HttpRequest.Builder requestBuilder, CachedResponse cached) {
+        if (cached == null) {
+            return httpRequest;
+        }
+        ResponseCache.addConditionalHeaders(cached, requestBuilder::header);
+        return requestBuilder.build();
+    }
+
+    private <T> T readCacheableResponse(String key, CachedResponse cached, HttpResponse<byte[]> response, Request<T> request) {
+        final Function<String, String> headers = name -> response.headers().firstValue(name).orElse(null);
+        if (response.statusCode() == ResponseCache.NOT_MODIFIED && cached != null) {
+            final CachedResponse revalidated = responseCache.revalidated(key, cached, headers);
+            return BodyHandler.readBody(IoUtil.toStream(revalidated.getBody()), 200, request, errorHandler, jsonCodec);
+        }
+        final byte[] body = decodedBody(response);
+        if (response.statusCode() / 100 == 2) {
+            responseCache.store(key, headers, body);
+        }
+        return BodyHandler.readBody(IoUtil.toStream(body), response.statusCode(), request, errorHandler, jsonCodec);
+    }
+
+    private static byte[] decodedBody(HttpResponse<byte[]> response) {
+        try {
+            return Compression.decode(response.body(), response.headers().firstValue(Compression.CONTENT_ENCODING).orElse(null));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String cacheKey(HttpRequest httpRequest) {
+        return ResponseCache.createKey(httpRequest.uri().toString(), headerEntries(httpRequest));
+    }
+
+    private static List<Map.Entry<String, String>> headerEntries(HttpRequest httpRequest) {
+        final List<Map.Entry<String, String>> headers = new ArrayList<>();
+        httpRequest.headers().map().forEach((name, values) -> values.forEach(value -> headers.add(Map.entry(name, value))));
+        return headers;
+    }
+
+    /**
+     * @return the response cache of this client, or null if caching is not enabled
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * @param retries the retries of the request, whose data is sent instead of the request one, or null
+     */
+    private <T> HttpRequest.Builder prepareRequest(Request<T> request, RetryPolicy.Retries retries, RequestTimeouts requestTimeouts) {
+        requireNonNull(request.getOperation(), "Request operation cannot be null");
+        requireNonNull(request.getResponseType(), "Response type cannot be null");
+
+        final HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(UriUtil.buildURI(endpoint + request.getRequestPath(), request.getQueryParams(), request.getPathParams()));
+        //the JDK only bounds the wait for the response headers, the deadline is enforced on top of it
+        if (requestTimeouts.getReadTimeout() > 0) {
+            requestBuilder.timeout(Duration.ofMillis(requestTimeouts.getReadTimeout()));
+        }
+
+        DEFAULT_HEADERS.forEach(requestBuilder::header);
+
+        //Add current request headers
+        nextRequestHeaders.consume().forEach(requestBuilder::header);
+
+        if (auth == null || !staticAuthHeaders.isEmpty()) {
+            //static auth headers replace the request ones with the same name
+            request.getHeaders().forEach((name, value) -> {
+                if (!staticAuthHeaders.containsKey(name)) {
+                    requestBuilder.header(name, value);
+                }
+            });
+            staticAuthHeaders.forEach(requestBuilder::header);
+        } else {
+            //other auths are applied to a copy of the request headers, which they may read or change
+            final Map<String, String> headers = new HashMap<>(request.getHeaders());
+            auth.apply(headers);
+            headers.forEach(requestBuilder::header);
+        }
+
+        if (compression.isResponseCompressionEnabled() && !request.getHeaders().containsKey(Compression.ACCEPT_ENCODING)) {
+            requestBuilder.header(Compression.ACCEPT_ENCODING, Compression.SUPPORTED_ENCODINGS);
+        }
+        final boolean compressBody = compression.compressesRequestBody(request);
+        if (compressBody) {
+            requestBuilder.header(Compression.CONTENT_ENCODING, Compression.GZIP);
+        }
+
+        switch (request.getOperation()) {
+            case GET:
+                requestBuilder.GET();
+                break;
+            case PUT:
+                requestBuilder.PUT(bodyPublisher(request, retries == null ? request::getData : retries::getData, compressBody));
+                break;
+            case POST:
+                requestBuilder.POST(bodyPublisher(request, request::getData, compressBody));
+                break;
+            case DELETE:
+                requestBuilder.DELETE();
+                break;
+            default:
+                throw new IllegalStateException("Operation not allowed");
+        }
+        return requestBuilder;
+    }
+
+    /**
+     * Streams the request data to the connection instead of copying it to the heap first. A known content length
+     * is sent as Content-Length, otherwise the body is sent chunked. Compressed data is gzipped as it is sent.
+     */
+    private static HttpRequest.BodyPublisher bodyPublisher(Request<?> request, Supplier<InputStream> data, boolean compress) {
+        if (request.getDataString() != null) {
+            return compress
+                    ? HttpRequest.BodyPublishers.ofByteArray(Compression.gzip(IoUtil.toBytes(request.getDataString())))
+                    : HttpRequest.BodyPublishers.ofString(request.getDataString());
+        }
+        if (request.getData() == null || request.getDataLength() == 0) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (compress) {
+            return HttpRequest.BodyPublishers.ofInputStream(() -> Compression.gzip(data.get()));
+        }
+        final HttpRequest.BodyPublisher publisher = HttpRequest.BodyPublishers.ofInputStream(data);
+        if (request.getDataLength() > 0) {
+            return HttpRequest.BodyPublishers.fromPublisher(publisher, request.getDataLength());
+        }
+        return publisher;
+    }
+
+    /**
+     * Maps a failure of the async exchange to the exception the blocking path would have thrown.
+     */
+    private Throwable toClientException(Throwable failure) {
+        final Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof IOException) {
+            try {
+                return errorHandler.parseError((IOException) cause);
+            } catch (RuntimeException e) {
+                //some error handlers throw the parsed exception instead of returning it
+                return e;
+            }
+        }
+        return cause;
     }
 
     @Override
+    @Deprecated
     public void setNextRequestHeaders(Map<String, String> headers) {
-        requestHeaders.set(headers);
+        nextRequestHeaders.set(headers);
     }
 
     @Override
     public Map<String, String> getHeaders() {
-        return requestHeaders.get();
+        return nextRequestHeaders.get();
     }
 
-    private static boolean toBoolean(Object parameter) {
-        if (parameter == null) {
-            return false;
-        }
-        if (parameter instanceof Boolean) {
-            return (Boolean) parameter;
-        }
-        if (parameter instanceof String) {
-            return Boolean.parseBoolean((String) parameter);
-        }
-        return false;
+    /**
+     * @return the JDK http client sending the requests, shared with the other clients of the same transport settings
+     */
+    HttpClient getHttpClient() {
+        return client;
     }
 
+    /**
+     * Releases the JDK http client of this client, which is shut down once no other client shares it.
+     */
     @Override
-    public void close() {}
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            transport.release();
+        }
+    }
 }
@@ -2,76 +2,256 @@ package io.apicurio.rest.client.handler;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.net.http.HttpResponse;
-import java.util.Date;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
 import java.util.function.Supplier;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
 
+import io.apicurio.rest.client.compression.Compression;
 import io.apicurio.rest.client.error.RestClientErrorHandler;
-import io.apicurio.rest.client.util.RegistryDateDeserializer;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.request.ResponseMode;
+import io.apicurio.rest.client.util.IoUtil;
+import io.apicurio.rest.client.util.JsonCodec;
 
 /**
+ * Reads the body of a response according to the {@link ResponseMode} of the request: the body subscriber is
+ * selected once the status is known, so streams, byte arrays and files are filled directly from the connection
+ * without an intermediate copy, json arrays are parsed as the caller iterates over them, and discarded bodies are
+ * not buffered at all. Compressed bodies are decoded as they are read.
+ *
  * @author Carles Arnal 'carnalca@redhat.com'
  */
 public class BodyHandler<W> implements HttpResponse.BodyHandler<Supplier<W>> {
 
     private final TypeReference<W> wClass;
+    private final ResponseMode responseMode;
+    private final Path responseFile;
     private final RestClientErrorHandler errorHandler;
-    private static final ObjectMapper mapper = new ObjectMapper();
-    static {
-        SimpleModule module = new SimpleModule("Custom date handler");
-        module.addDeserializer(Date.class, new RegistryDateDeserializer());
-        mapper.registerModule(module);
-    }
+    private final JsonCodec jsonCodec;
+    private final boolean nonBlocking;
 
     public BodyHandler(TypeReference<W> wClass, RestClientErrorHandler errorHandler) {
+        this(wClass, errorHandler, JsonCodec.getDefault());
+    }
+
+    public BodyHandler(TypeReference<W> wClass, RestClientErrorHandler errorHandler, JsonCodec jsonCodec) {
+        this(wClass, ResponseMode.of(wClass), null, errorHandler, jsonCodec, false);
+    }
+
+    public BodyHandler(Request<W> request, RestClientErrorHandler errorHandler, JsonCodec jsonCodec) {
+        this(request.getResponseType(), request.getResponseMode(), request.getResponseFile(), errorHandler, jsonCodec, false);
+    }
+
+    private BodyHandler(TypeReference<W> wClass, ResponseMode responseMode, Path responseFile, RestClientErrorHandler errorHandler, JsonCodec jsonCodec,
+                        boolean nonBlocking) {
         this.wClass = wClass;
+        this.responseMode = responseMode;
+        this.responseFile = responseFile;
         this.errorHandler = errorHandler;
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.jsonCodec = jsonCodec;
+        this.nonBlocking = nonBlocking;
+    }
+
+    /**
+     * Creates a handler for the requests sent asynchronously, whose result is handed over by the thread completing
+     * the response and must not wait for the body there. Bodies read by the client are read, and parsed, once
+     * fully received instead of from a stream filled as they arrive, and the streams returned to the caller are
+     * only handed over once their first bytes are received.
+     */
+    public static <W> BodyHandler<W> nonBlocking(Request<W> request, RestClientErrorHandler errorHandler, JsonCodec jsonCodec) {
+        return new BodyHandler<>(request.getResponseType(), request.getResponseMode(), request.getResponseFile(), errorHandler, jsonCodec, true);
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public HttpResponse.BodySubscriber<Supplier<W>> apply(HttpResponse.ResponseInfo responseInfo) {
-        return asJSON(wClass, responseInfo, errorHandler);
+        final String contentEncoding = responseInfo.headers().firstValue(Compression.CONTENT_ENCODING).orElse(null);
+        final boolean encoded = Compression.isEncoded(contentEncoding);
+        final boolean streamed = responseMode.isStreamed() && !isFailure(responseInfo.statusCode());
+        if (nonBlocking && !streamed && (encoded || isFailure(responseInfo.statusCode()) || responseMode == ResponseMode.JSON)) {
+            //read by the thread completing the body, once it is fully received
+            return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), body -> readNow(() -> readBody(
+                    decode(IoUtil.toStream(body), contentEncoding), responseInfo.statusCode(), wClass, responseMode, responseFile, errorHandler, jsonCodec)));
+        }
+        if (encoded) {
+            //the decoding stream is fed as the body arrives, then read in the mode of the request
+            return HttpResponse.BodySubscribers.mapping(inputStream(),
+                    body -> () -> readBody(decode(body, contentEncoding), responseInfo.statusCode(), wClass, responseMode, responseFile, errorHandler, jsonCodec));
+        }
+        if (isFailure(responseInfo.statusCode())) {
+            //error bodies are read by the error handler
+            return asJSON(wClass, responseInfo, errorHandler, jsonCodec);
+        }
+        switch (responseMode) {
+            case STREAM:
+                return HttpResponse.BodySubscribers.mapping(inputStream(), body -> () -> (W) body);
+            case JSON_STREAM:
+                return HttpResponse.BodySubscribers.mapping(inputStream(),
+                        body -> () -> readBody(body, responseInfo.statusCode(), wClass, responseMode, responseFile, errorHandler, jsonCodec));
+            case BYTES:
+                return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), body -> () -> (W) body);
+            case DISCARD:
+                return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.discarding(), ignored -> () -> null);
+            case FILE:
+                return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofFile(responseFile), file -> () -> (W) file);
+            default:
+                return asJSON(wClass, responseInfo, errorHandler, jsonCodec);
+        }
+    }
+
+    /**
+     * @return a subscriber of the body as a stream, which non-blocking handlers only hand over once its first
+     * bytes are received so that starting to read it, as decoders and json parsers do, does not wait
+     */
+    private HttpResponse.BodySubscriber<InputStream> inputStream() {
+        final HttpResponse.BodySubscriber<InputStream> body = HttpResponse.BodySubscribers.ofInputStream();
+        return nonBlocking ? new FirstBytesSubscriber<>(body) : body;
+    }
+
+    /**
+     * @return a supplier of the value read right away, or of the failure to read it
+     */
+    private static <W> Supplier<W> readNow(Supplier<W> reader) {
+        try {
+            final W value = reader.get();
+            return () -> value;
+        } catch (RuntimeException e) {
+            return () -> {
+                throw e;
+            };
+        }
     }
 
     public static <W> HttpResponse.BodySubscriber<Supplier<W>> asJSON(TypeReference<W> targetType, HttpResponse.ResponseInfo responseInfo, RestClientErrorHandler errorHandler) {
+        return asJSON(targetType, responseInfo, errorHandler, JsonCodec.getDefault());
+    }
+
+    public static <W> HttpResponse.BodySubscriber<Supplier<W>> asJSON(TypeReference<W> targetType, HttpResponse.ResponseInfo responseInfo, RestClientErrorHandler errorHandler, JsonCodec jsonCodec) {
         HttpResponse.BodySubscriber<InputStream> upstream = HttpResponse.BodySubscribers.ofInputStream();
         return HttpResponse.BodySubscribers.mapping(
                 upstream,
-                inputStream -> toSupplierOfType(inputStream, targetType, responseInfo, errorHandler));
+                inputStream -> toSupplierOfType(inputStream, targetType, responseInfo, errorHandler, jsonCodec));
     }
 
-    @SuppressWarnings("unchecked")
     public static <W> Supplier<W> toSupplierOfType(InputStream body, TypeReference<W> targetType, HttpResponse.ResponseInfo responseInfo, RestClientErrorHandler errorHandler) {
-        return () -> {
-            try {
-                if (isFailure(responseInfo)) {
-                    throw errorHandler.handleErrorResponse(body, responseInfo.statusCode());
-                } else {
-                    //TODO think of a better solution to this
-                    final String typeName = targetType.getType().getTypeName();
-                    if (typeName.contains("InputStream")) {
-                        return (W) body;
-                    } else if (typeName.contains("Void")) {
-                        //Intended null return
-                        return null;
-                    } else {
-                        return mapper.readValue(body, targetType);
+        return toSupplierOfType(body, targetType, responseInfo, errorHandler, JsonCodec.getDefault());
+    }
+
+    public static <W> Supplier<W> toSupplierOfType(InputStream body, TypeReference<W> targetType, HttpResponse.ResponseInfo responseInfo, RestClientErrorHandler errorHandler, JsonCodec jsonCodec) {
+        return () -> readBody(body, responseInfo.statusCode(), targetType, errorHandler, jsonCodec);
+    }
+
+    public static <W> W readBody(InputStream body, int statusCode, TypeReference<W> targetType, RestClientErrorHandler errorHandler) {
+        return readBody(body, statusCode, targetType, errorHandler, JsonCodec.getDefault());
+    }
+
+    public static <W> W readBody(InputStream body, int statusCode, TypeReference<W> targetType, RestClientErrorHandler errorHandler, JsonCodec jsonCodec) {
+        return readBody(body, statusCode, targetType, ResponseMode.of(targetType), null, errorHandler, jsonCodec);
+    }
+
+    /**
+     * Reads a response body that is already available, from a cache for instance, in the response mode of the
+     * request.
+     */
+    public static <W> W readBody(InputStream body, int statusCode, Request<W> request, RestClientErrorHandler errorHandler, JsonCodec jsonCodec) {
+        return readBody(body, statusCode, request.getResponseType(), request.getResponseMode(), request.getResponseFile(), errorHandler, jsonCodec);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <W> W readBody(InputStream body, int statusCode, TypeReference<W> targetType, ResponseMode responseMode, Path responseFile,
+                                  RestClientErrorHandler errorHandler, JsonCodec jsonCodec) {
+        try {
+            if (isFailure(statusCode)) {
+                throw errorHandler.handleErrorResponse(body, statusCode).withStatusCode(statusCode);
+            }
+            switch (responseMode) {
+                case STREAM:
+                    return (W) body;
+                case JSON_STREAM:
+                    return jsonCodec.readValues(body, targetType);
+                case BYTES:
+                    return (W) body.readAllBytes();
+                case DISCARD:
+                    //Intended null return, the body is drained so that its connection can be reused
+                    try (InputStream in = body) {
+                        in.transferTo(OutputStream.nullOutputStream());
                     }
-                }
-            } catch (IOException e) {
-                throw new UncheckedIOException(e);
+                    return null;
+                case FILE:
+                    try (InputStream in = body) {
+                        Files.copy(in, responseFile, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    return (W) responseFile;
+                default:
+                    return jsonCodec.readValue(body, targetType);
             }
-        };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static InputStream decode(InputStream body, String contentEncoding) {
+        try {
+            return Compression.decode(body, contentEncoding);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isFailure(int statusCode) {
+        return statusCode / 100 != 2;
     }
 
-    private static boolean isFailure(HttpResponse.ResponseInfo responseInfo) {
-        return responseInfo.statusCode() / 100 != 2;
+    /**
+     * Completes the body once its first bytes, or its end, are received. The body stream requests the first
+     * buffers as soon as it is subscribed, without waiting for a read.
+     */
+    private static class FirstBytesSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+        private final HttpResponse.BodySubscriber<T> delegate;
+        private final CompletableFuture<Void> firstBytes = new CompletableFuture<>();
+
+        private FirstBytesSubscriber(HttpResponse.BodySubscriber<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return delegate.getBody().thenCombine(firstBytes, (body, ignored) -> body);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            delegate.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            delegate.onNext(item);
+            firstBytes.complete(null);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            delegate.onError(throwable);
+            firstBytes.complete(null);
+        }
+
+        @Override
+        public void onComplete() {
+            delegate.onComplete();
+            firstBytes.complete(null);
+        }
     }
 }
@@ -0,0 +1,121 @@
+package io.apicurio.rest.client.handler;
+
+import io.apicurio.rest.client.request.RequestTimeouts;
+
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Aborts the exchange when the deadline of the request expires while its body is still being received, the
+ * subscriber of the wrapped handler then fails with an {@link HttpTimeoutException}. Needed for the handlers
+ * whose body is read after the response completed, such as the ones mapping an input stream.
+ */
+public class DeadlineBodyHandler<T> implements HttpResponse.BodyHandler<T> {
+
+    private final HttpResponse.BodyHandler<T> delegate;
+    private final RequestTimeouts timeouts;
+
+    public DeadlineBodyHandler(HttpResponse.BodyHandler<T> delegate, RequestTimeouts timeouts) {
+        this.delegate = delegate;
+        this.timeouts = timeouts;
+    }
+
+    @Override
+    public HttpResponse.BodySubscriber<T> apply(HttpResponse.ResponseInfo responseInfo) {
+        return new DeadlineBodySubscriber<>(delegate.apply(responseInfo), timeouts);
+    }
+
+    private static class DeadlineBodySubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+        private final HttpResponse.BodySubscriber<T> delegate;
+        private final RequestTimeouts timeouts;
+        private final CompletableFuture<Void> received = new CompletableFuture<>();
+        //serializes the signals of the upstream with the timeout one
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean terminated;
+
+        private DeadlineBodySubscriber(HttpResponse.BodySubscriber<T> delegate, RequestTimeouts timeouts) {
+            this.delegate = delegate;
+            this.timeouts = timeouts;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            delegate.onSubscribe(subscription);
+            //the timer of orTimeout is cancelled as soon as the body is received
+            received.orTimeout(timeouts.remainingMillis(), TimeUnit.MILLISECONDS)
+                    .whenComplete((ignored, failure) -> {
+                        if (failure instanceof TimeoutException) {
+                            expire(subscription);
+                        }
+                    });
+        }
+
+        private void expire(Flow.Subscription subscription) {
+            lock.lock();
+            try {
+                if (terminated) {
+                    return;
+                }
+                terminated = true;
+                subscription.cancel();
+                delegate.onError(new HttpTimeoutException(timeouts.deadlineMessage()));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            lock.lock();
+            try {
+                if (!terminated) {
+                    delegate.onNext(item);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            received.complete(null);
+            lock.lock();
+            try {
+                if (!terminated) {
+                    terminated = true;
+                    delegate.onError(throwable);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            received.complete(null);
+            lock.lock();
+            try {
+                if (!terminated) {
+                    terminated = true;
+                    delegate.onComplete();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.apicurio.rest.client.handler;
+
+import io.apicurio.rest.client.request.RetryPolicy;
+
+import java.net.http.HttpResponse;
+
+/**
+ * Decides whether a response must be retried as soon as its status is known, in which case its body is
+ * discarded instead of being handed to the wrapped handler.
+ */
+public class RetryingBodyHandler<T> implements HttpResponse.BodyHandler<T> {
+
+    private final HttpResponse.BodyHandler<T> delegate;
+    private final RetryPolicy.Retries retries;
+    private volatile long retryDelay = -1;
+
+    public RetryingBodyHandler(HttpResponse.BodyHandler<T> delegate, RetryPolicy.Retries retries) {
+        this.delegate = delegate;
+        this.retries = retries;
+    }
+
+    @Override
+    public HttpResponse.BodySubscriber<T> apply(HttpResponse.ResponseInfo responseInfo) {
+        retryDelay = retries.retryDelay(responseInfo.statusCode(), responseInfo.headers().firstValue(RetryPolicy.RETRY_AFTER).orElse(null));
+        if (retryDelay >= 0) {
+            return HttpResponse.BodySubscribers.replacing(null);
+        }
+        return delegate.apply(responseInfo);
+    }
+
+    /**
+     * @return the delay in milliseconds before retrying the request, or -1 if the response is final
+     */
+    public long getRetryDelay() {
+        return retryDelay;
+    }
+}
@@ -0,0 +1,111 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_CLIENT_SHARED_TRANSPORT;
+
+public class AsyncRequestTest {
+
+    private static final String COUNTRIES = "[{ \"name\": \"France\", \"capital\": \"Paris\" }, { \"name\": \"Italy\", \"capital\": \"Rome\" }]";
+    private static final int REQUESTS = 20;
+
+    private static WireMockServer wireMockServer;
+
+    @BeforeAll
+    public static void init() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/slow/countries"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(COUNTRIES)
+                        .withChunkedDribbleDelay(5, 1000)));
+        wireMockServer.stubFor(get(urlEqualTo("/missing/countries"))
+                .willReturn(aResponse().withStatus(404)));
+    }
+
+    @Test
+    public void testSlowBodiesDoNotHoldThreads() throws Exception {
+        final JdkHttpClient client = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(APICURIO_CLIENT_SHARED_TRANSPORT, "false"), null, null);
+        try {
+            final List<CompletableFuture<List<Country>>> results = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                results.add(client.sendRequestAsync(countries("slow/countries", new TypeReference<List<Country>>() {
+                })).toCompletableFuture());
+            }
+            Thread.sleep(500);
+            //the bodies are still being received, without a thread waiting for each of them
+            Assertions.assertTrue(results.stream().noneMatch(CompletableFuture::isDone));
+            Assertions.assertEquals(0, threadsReadingResponses());
+
+            for (CompletableFuture<List<Country>> result : results) {
+                Assertions.assertEquals("Rome", result.get(10, TimeUnit.SECONDS).get(1).getCapital());
+            }
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testStreamAsync() throws Exception {
+        final JdkHttpClient client = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(), null, null);
+
+        try (InputStream body = client.sendRequestAsync(countries("slow/countries", new TypeReference<InputStream>() {
+        })).toCompletableFuture().get(10, TimeUnit.SECONDS)) {
+            Assertions.assertEquals(COUNTRIES, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testErrorAsync() {
+        final JdkHttpClient client = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(), null, null);
+
+        final ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> client.sendRequestAsync(countries("missing/countries",
+                new TypeReference<List<Country>>() {
+                })).toCompletableFuture().get(10, TimeUnit.SECONDS));
+        Assertions.assertNotNull(e.getCause());
+    }
+
+    /**
+     * @return the number of threads waiting for the body of a response in the stream reading it
+     */
+    private static long threadsReadingResponses() {
+        return Thread.getAllStackTraces().values().stream()
+                .filter(stack -> Arrays.stream(stack).anyMatch(frame -> frame.getClassName().contains("HttpResponseInputStream")))
+                .count();
+    }
+
+    private static <T> Request<T> countries(String path, TypeReference<T> responseType) {
+        return new Request.RequestBuilder<T>()
+                .operation(Operation.GET)
+                .path(path)
+                .responseType(responseType)
+                .build();
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+}
@@ -0,0 +1,136 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.request.RequestResult;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+public class BatchRequestTest {
+
+    private static WireMockServer wireMockServer;
+
+    @BeforeAll
+    public static void init() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlMatching("/countries/.*"))
+                .willReturn(aResponse().withStatus(404)));
+        for (String code : List.of("FR", "DE", "IT")) {
+            wireMockServer.stubFor(get(urlEqualTo("/countries/" + code))
+                    .willReturn(aResponse()
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("{ \"name\": \"" + code + "\", \"capital\": \"Capital of " + code + "\" }")));
+        }
+        wireMockServer.stubFor(get(urlEqualTo("/slow/countries/FR"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{ \"name\": \"France\", \"capital\": \"Paris\" }")
+                        .withFixedDelay(300)));
+    }
+
+    @Test
+    public void testResultsAreInRequestOrder() {
+        final JdkHttpClient client = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(), null, null);
+        final List<String> codes = List.of("FR", "XX", "DE", "IT", "YY", "FR", "DE", "IT", "FR", "ZZ");
+        final List<Request<Country>> requests = new ArrayList<>();
+        codes.forEach(code -> requests.add(getCountry("countries/" + code)));
+
+        final List<RequestResult<?>> results = client.sendRequests(requests, 3);
+
+        Assertions.assertEquals(codes.size(), results.size());
+        for (int i = 0; i < codes.size(); i++) {
+            final RequestResult<?> result = results.get(i);
+            Assertions.assertSame(requests.get(i), result.getRequest());
+            if (codes.get(i).endsWith("X") || codes.get(i).endsWith("Y") || codes.get(i).endsWith("Z")) {
+                Assertions.assertFalse(result.isSuccess());
+                Assertions.assertNotNull(result.getFailure());
+                Assertions.assertThrows(RuntimeException.class, result::get);
+            } else {
+                Assertions.assertTrue(result.isSuccess());
+                Assertions.assertEquals(codes.get(i), ((Country) result.get()).getName());
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrencyIsBounded() {
+        final JdkHttpClient client = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(), null, null);
+        final List<Request<Country>> requests = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            requests.add(getCountry("slow/countries/FR"));
+        }
+
+        final long sequentialStart = System.nanoTime();
+        client.sendRequests(requests, 1).forEach(RequestResult::get);
+        final long sequential = Duration.ofNanos(System.nanoTime() - sequentialStart).toMillis();
+
+        final long concurrentStart = System.nanoTime();
+        client.sendRequests(requests, 4).forEach(RequestResult::get);
+        final long concurrent = Duration.ofNanos(System.nanoTime() - concurrentStart).toMillis();
+
+        Assertions.assertTrue(sequential >= 1200, "sequential batch took " + sequential + "ms");
+        Assertions.assertTrue(concurrent < 1000, "concurrent batch took " + concurrent + "ms");
+    }
+
+    @Test
+    public void testNextRequestHeadersTakePrecedenceOverDefaultHeaders() {
+        final JdkHttpClient client = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(), null, null);
+        final Request<Country> explicitAccept = new Request.RequestBuilder<Country>()
+                .path("countries/DE")
+                .operation(Operation.GET)
+                .headers(Map.of(Request.ACCEPT, "application/json"))
+                .responseType(new TypeReference<Country>() {
+                })
+                .build();
+        client.setNextRequestHeaders(Map.of(Request.ACCEPT, "application/vnd.apicurio+json", "X-Batch", "true"));
+
+        client.sendRequests(List.of(getCountry("countries/IT"), explicitAccept)).forEach(RequestResult::get);
+
+        wireMockServer.verify(getRequestedFor(urlEqualTo("/countries/IT"))
+                .withHeader(Request.ACCEPT, equalTo("application/vnd.apicurio+json"))
+                .withHeader(Request.CONTENT_TYPE, equalTo("application/json"))
+                .withHeader("X-Batch", equalTo("true")));
+        //the headers set on a request take precedence
+        wireMockServer.verify(getRequestedFor(urlEqualTo("/countries/DE"))
+                .withHeader(Request.ACCEPT, equalTo("application/json"))
+                .withHeader("X-Batch", equalTo("true")));
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        final JdkHttpClient client = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(), null, null);
+        Assertions.assertTrue(client.sendRequests(List.of()).isEmpty());
+    }
+
+    private static Request<Country> getCountry(String path) {
+        return new Request.RequestBuilder<Country>()
+                .path(path)
+                .operation(Operation.GET)
+                .responseType(new TypeReference<Country>() {
+                })
+                .build();
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+}
@@ -0,0 +1,146 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.auth.exception.AuthErrorHandler;
+import io.apicurio.rest.client.circuitbreaker.CircuitBreaker;
+import io.apicurio.rest.client.circuitbreaker.CircuitBreakerHttpClient;
+import io.apicurio.rest.client.circuitbreaker.CircuitBreakerHttpClientProvider;
+import io.apicurio.rest.client.circuitbreaker.CircuitBreakerOpenException;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.spi.ApicurioHttpClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_ENABLED;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_HALF_OPEN_CALLS;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_LISTENER;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_MINIMUM_CALLS;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_OPEN_DURATION;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_CLIENT_CIRCUIT_BREAKER_WINDOW_SIZE;
+
+public class CircuitBreakerTest {
+
+    private static WireMockServer wireMockServer;
+
+    private final List<String> transitions = new CopyOnWriteArrayList<>();
+
+    @BeforeAll
+    public static void init() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+    }
+
+    @BeforeEach
+    public void reset() {
+        wireMockServer.resetAll();
+        transitions.clear();
+    }
+
+    @Test
+    public void testOpensOnServerErrorsAndClosesAfterRecovery() throws InterruptedException {
+        respondWith(503);
+        final ApicurioHttpClient client = client();
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(getFrance()));
+        }
+        Assertions.assertThrows(CircuitBreakerOpenException.class, () -> client.sendRequest(getFrance()));
+        final CompletionException asyncFailure = Assertions.assertThrows(CompletionException.class,
+                () -> client.sendRequestAsync(getFrance()).toCompletableFuture().join());
+        Assertions.assertTrue(asyncFailure.getCause() instanceof CircuitBreakerOpenException);
+        Assertions.assertEquals(4, wireMockServer.countRequestsMatching(anyRequestedFor(anyUrl()).build()).getCount());
+
+        Thread.sleep(300);
+        wireMockServer.resetAll();
+        respondWith(200);
+
+        Assertions.assertEquals("Paris", client.sendRequest(getFrance()).getCapital());
+        Assertions.assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    public void testClientErrorsDoNotOpen() {
+        respondWith(404);
+        final ApicurioHttpClient client = client();
+
+        for (int i = 0; i < 8; i++) {
+            Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(getFrance()));
+        }
+        Assertions.assertEquals(8, wireMockServer.countRequestsMatching(anyRequestedFor(anyUrl()).build()).getCount());
+        Assertions.assertTrue(transitions.isEmpty());
+    }
+
+    @Test
+    public void testDecoratorRecordsOutcomesOfAnyClient() throws InterruptedException {
+        respondWith(503);
+        final CircuitBreaker circuitBreaker = new CircuitBreaker("direct", 4, 4, 50, 200, 1);
+        circuitBreaker.addListener((breaker, from, to) -> transitions.add(from + "->" + to));
+        final ApicurioHttpClient client = new CircuitBreakerHttpClient(
+                new JdkHttpClient(wireMockServer.baseUrl(), Map.of(), null, new AuthErrorHandler()), circuitBreaker);
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThrows(CompletionException.class, () -> client.sendRequestAsync(getFrance()).toCompletableFuture().join());
+        }
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        Thread.sleep(300);
+        wireMockServer.resetAll();
+        respondWith(200);
+
+        //the outcome of the trial request releases its half-open permit
+        Assertions.assertEquals("Paris", client.sendRequestAsync(getFrance()).toCompletableFuture().join().getCapital());
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        Assertions.assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    private static void respondWith(int status) {
+        wireMockServer.stubFor(get(urlEqualTo("/countries/FR"))
+                .willReturn(aResponse()
+                        .withStatus(status)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{ \"name\": \"France\", \"capital\": \"Paris\" }")));
+    }
+
+    private ApicurioHttpClient client() {
+        final Map<String, Object> config = new HashMap<>();
+        config.put(APICURIO_CLIENT_CIRCUIT_BREAKER_ENABLED, true);
+        config.put(APICURIO_CLIENT_CIRCUIT_BREAKER_WINDOW_SIZE, 4);
+        config.put(APICURIO_CLIENT_CIRCUIT_BREAKER_MINIMUM_CALLS, 4);
+        config.put(APICURIO_CLIENT_CIRCUIT_BREAKER_OPEN_DURATION, 200);
+        config.put(APICURIO_CLIENT_CIRCUIT_BREAKER_HALF_OPEN_CALLS, 1);
+        config.put(APICURIO_CLIENT_CIRCUIT_BREAKER_LISTENER, (CircuitBreaker.Listener) (circuitBreaker, from, to) -> transitions.add(from + "->" + to));
+        //a new provider for each test so that the circuit breaker of the endpoint is not shared
+        return new CircuitBreakerHttpClientProvider(new JdkHttpClientProvider()).create(wireMockServer.baseUrl(), config, null, new AuthErrorHandler());
+    }
+
+    private static Request<Country> getFrance() {
+        return new Request.RequestBuilder<Country>()
+                .path("countries/FR")
+                .operation(Operation.GET)
+                .responseType(new TypeReference<Country>() {
+                })
+                .build();
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+}
@@ -0,0 +1,86 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.spi.ClientMetrics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_CLIENT_METRICS;
+
+public class ClientMetricsTest {
+
+    private static final String FRANCE = "{ \"name\": \"France\", \"capital\": \"Paris\" }";
+
+    private static WireMockServer wireMockServer;
+
+    @BeforeAll
+    public static void init() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/countries/FR"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("Content-Length", String.valueOf(FRANCE.length()))
+                        .withBody(FRANCE)));
+        wireMockServer.stubFor(get(urlEqualTo("/countries/XX"))
+                .willReturn(aResponse()
+                        .withStatus(404)));
+    }
+
+    @Test
+    public void testRequestsAreRecorded() {
+        final RecordingMetrics metrics = new RecordingMetrics();
+        final JdkHttpClient jdkHttpClient = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(APICURIO_CLIENT_METRICS, metrics), null, null);
+
+        Assertions.assertEquals("Paris", jdkHttpClient.sendRequest(getCountry("FR")).getCapital());
+        Assertions.assertThrows(RuntimeException.class, () -> jdkHttpClient.sendRequest(getCountry("XX")));
+
+        Assertions.assertEquals(2, metrics.started.get());
+        Assertions.assertEquals(List.of("GET countries/%s 200 0 " + FRANCE.length(), "GET countries/%s 404 0 -1"), metrics.completed);
+    }
+
+    private static Request<Country> getCountry(String code) {
+        return new Request.RequestBuilder<Country>()
+                .path("countries/%s")
+                .pathParams(List.of(code))
+                .operation(Operation.GET)
+                .responseType(new TypeReference<Country>() {
+                })
+                .build();
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+
+    private static class RecordingMetrics implements ClientMetrics {
+
+        private final AtomicInteger started = new AtomicInteger();
+        private final List<String> completed = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void requestStarted(Operation operation, String pathTemplate) {
+            started.incrementAndGet();
+        }
+
+        @Override
+        public void requestCompleted(Operation operation, String pathTemplate, int statusCode, long requestBytes, long responseBytes, long durationNanos) {
+            completed.add(operation + " " + pathTemplate + " " + statusCode + " " + requestBytes + " " + responseBytes);
+        }
+    }
+}
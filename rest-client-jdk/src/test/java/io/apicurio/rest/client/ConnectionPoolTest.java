@@ -0,0 +1,105 @@
+package io.apicurio.rest.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_IDLE_TIMEOUT;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_KEEP_ALIVE_TIMEOUT;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_POOL_MAX_SIZE;
+
+public class ConnectionPoolTest {
+
+    private static final String POOL_SIZE = "jdk.httpclient.connectionPoolSize";
+    private static final String KEEP_ALIVE_TIMEOUT = "jdk.httpclient.keepalive.timeout";
+
+    private final Logger logger = Logger.getLogger(JdkHttpClient.class.getName());
+    private final List<String> warnings = Collections.synchronizedList(new ArrayList<>());
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            warnings.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+    private String poolSize;
+    private String keepAliveTimeout;
+
+    @BeforeEach
+    public void clearProperties() {
+        //the properties are JVM wide, they are restored once done
+        poolSize = System.clearProperty(POOL_SIZE);
+        keepAliveTimeout = System.clearProperty(KEEP_ALIVE_TIMEOUT);
+        logger.addHandler(handler);
+    }
+
+    @Test
+    public void testFirstClientToSetPropertyWins() {
+        JdkHttpClient.setPoolProperties(Map.of(APICURIO_REQUEST_POOL_MAX_SIZE, "7", APICURIO_REQUEST_KEEP_ALIVE_TIMEOUT, 30), false);
+        Assertions.assertEquals("7", System.getProperty(POOL_SIZE));
+        Assertions.assertEquals("30", System.getProperty(KEEP_ALIVE_TIMEOUT));
+        Assertions.assertTrue(warnings.isEmpty());
+
+        //the same values are not reported
+        JdkHttpClient.setPoolProperties(Map.of(APICURIO_REQUEST_POOL_MAX_SIZE, 7), false);
+        Assertions.assertTrue(warnings.isEmpty());
+
+        JdkHttpClient.setPoolProperties(Map.of(APICURIO_REQUEST_POOL_MAX_SIZE, "9", APICURIO_REQUEST_KEEP_ALIVE_TIMEOUT, "60"), false);
+        Assertions.assertEquals("7", System.getProperty(POOL_SIZE));
+        Assertions.assertEquals("30", System.getProperty(KEEP_ALIVE_TIMEOUT));
+        Assertions.assertEquals(2, warnings.size());
+        Assertions.assertTrue(warnings.get(0).contains(APICURIO_REQUEST_POOL_MAX_SIZE + "=9"));
+        Assertions.assertTrue(warnings.get(1).contains(APICURIO_REQUEST_KEEP_ALIVE_TIMEOUT + "=60"));
+    }
+
+    @Test
+    public void testIdleTimeoutSetsKeepAliveTimeout() {
+        JdkHttpClient.setPoolProperties(Map.of(APICURIO_REQUEST_IDLE_TIMEOUT, "15"), false);
+        Assertions.assertEquals("15", System.getProperty(KEEP_ALIVE_TIMEOUT));
+        Assertions.assertNull(System.getProperty(POOL_SIZE));
+
+        //the keep-alive timeout takes precedence
+        System.clearProperty(KEEP_ALIVE_TIMEOUT);
+        JdkHttpClient.setPoolProperties(Map.of(APICURIO_REQUEST_IDLE_TIMEOUT, "15", APICURIO_REQUEST_KEEP_ALIVE_TIMEOUT, "45"), false);
+        Assertions.assertEquals("45", System.getProperty(KEEP_ALIVE_TIMEOUT));
+    }
+
+    @Test
+    public void testPropertiesAreNotSetOnceHttpClientExists() {
+        JdkHttpClient.setPoolProperties(Map.of(APICURIO_REQUEST_POOL_MAX_SIZE, "7"), true);
+        Assertions.assertNull(System.getProperty(POOL_SIZE));
+        Assertions.assertEquals(1, warnings.size());
+        Assertions.assertTrue(warnings.get(0).contains(APICURIO_REQUEST_POOL_MAX_SIZE + "=7"));
+    }
+
+    @AfterEach
+    public void restoreProperties() {
+        logger.removeHandler(handler);
+        restore(POOL_SIZE, poolSize);
+        restore(KEEP_ALIVE_TIMEOUT, keepAliveTimeout);
+    }
+
+    private static void restore(String property, String value) {
+        if (value == null) {
+            System.clearProperty(property);
+        } else {
+            System.setProperty(property, value);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package io.apicurio.rest.client;
 
 import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_HEADERS_PREFIX;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -11,10 +13,12 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import io.apicurio.rest.client.request.Operation;
 import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.util.JsonCodec;
 
 
 public class DeserializeDatesTest {
@@ -38,6 +42,33 @@ public class DeserializeDatesTest {
 
         Assertions.assertNotNull(dates);
         Assertions.assertEquals(2, dates.size());
+        Assertions.assertEquals(Instant.parse("2022-01-17T07:30:06Z"), dates.get(0).getValue().toInstant());
+        Assertions.assertEquals(Instant.parse("2022-01-17T07:30:06Z"), dates.get(1).getValue().toInstant());
+    }
+
+    @Test
+    public void testSupportedFormats() throws Exception {
+        final Instant expected = Instant.parse("2024-02-29T23:15:30.120Z");
+        Assertions.assertEquals(expected, parse("\"2024-02-29T23:15:30.12Z\""));
+        Assertions.assertEquals(expected, parse("\"2024-02-29T23:15:30.120456789Z\""));
+        Assertions.assertEquals(expected, parse("\"2024-03-01T01:45:30.120+0230\""));
+        Assertions.assertEquals(expected, parse("\"2024-03-01T01:45:30.120+02:30\""));
+        Assertions.assertEquals(expected, parse("\"2024-02-29T20:15:30.120-03\""));
+        Assertions.assertEquals(expected, parse(String.valueOf(expected.toEpochMilli())));
+        Assertions.assertEquals(Instant.parse("1969-12-31T23:59:59Z"), parse("\"1969-12-31T23:59:59Z\""));
+    }
+
+    @Test
+    public void testUnsupportedFormats() {
+        for (String date : List.of("\"2024-02-30T23:15:30Z\"", "\"2024-02-29T23:15:30\"", "\"2024-02-29 23:15:30Z\"",
+                "\"2024-02-29T23:15:30.Z\"", "\"2024-02-29T23:15:30+2\"", "\"2024-02-29T24:00:00Z\"", "\"yesterday\"", "true")) {
+            Assertions.assertThrows(JsonMappingException.class, () -> parse(date), date);
+        }
+    }
+
+    private static Instant parse(String json) throws Exception {
+        final byte[] body = ("{ \"value\": " + json + " }").getBytes(StandardCharsets.UTF_8);
+        return JsonCodec.getDefault().readValue(body, new TypeReference<DateValue>() {}).getValue().toInstant();
     }
 
 
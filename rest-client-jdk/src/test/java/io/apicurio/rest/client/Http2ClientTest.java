@@ -0,0 +1,99 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.http.trafficlistener.WiremockNetworkTrafficListener;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_HTTP_VERSION;
+
+/**
+ * Runs against the h2c capable connector of WireMock to verify concurrent requests are multiplexed.
+ */
+public class Http2ClientTest {
+
+    private static final AtomicInteger openedConnections = new AtomicInteger();
+    private static WireMockServer wireMockServer;
+    private static JdkHttpClient jdkHttpClient;
+
+    @BeforeAll
+    public static void init() {
+        wireMockServer = new WireMockServer(options()
+                .dynamicPort()
+                .networkTrafficListener(new ConnectionCounter()));
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/countries/FR"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withFixedDelay(50)
+                        .withBody("{ \"name\": \"France\", \"capital\": \"Paris\" }")));
+
+        jdkHttpClient = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(APICURIO_REQUEST_HTTP_VERSION, "HTTP_2"), null, null);
+    }
+
+    @Test
+    public void testConcurrentRequestsShareConnection() {
+        //The first request upgrades the plain text connection to h2c
+        Assertions.assertEquals("Paris", jdkHttpClient.sendRequest(getFrance()).getCapital());
+        Assertions.assertEquals(1, openedConnections.get());
+
+        final List<CompletableFuture<Country>> responses = IntStream.range(0, 50)
+                .mapToObj(i -> jdkHttpClient.sendRequestAsync(getFrance()).toCompletableFuture())
+                .collect(Collectors.toList());
+
+        responses.forEach(response -> Assertions.assertEquals("Paris", response.join().getCapital()));
+        Assertions.assertEquals(1, openedConnections.get());
+    }
+
+    private static Request<Country> getFrance() {
+        return new Request.RequestBuilder<Country>()
+                .path("countries/FR")
+                .operation(Operation.GET)
+                .responseType(new TypeReference<Country>() {
+                })
+                .build();
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+
+    private static class ConnectionCounter implements WiremockNetworkTrafficListener {
+
+        @Override
+        public void opened(Socket socket) {
+            openedConnections.incrementAndGet();
+        }
+
+        @Override
+        public void incoming(Socket socket, ByteBuffer bytes) {
+        }
+
+        @Override
+        public void outgoing(Socket socket, ByteBuffer bytes) {
+        }
+
+        @Override
+        public void closed(Socket socket) {
+        }
+    }
+}
@@ -3,13 +3,16 @@ package io.apicurio.rest.client;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.apicurio.rest.client.auth.Auth;
 import io.apicurio.rest.client.request.Operation;
 import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.util.IoUtil;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -18,12 +21,16 @@ import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUE
 
 public class JdkClientTest {
 
+    //reads a header of the request to add another one
+    private static final Auth REDUCING_AUTH = headers -> headers.put("X-Reduced", headers.getOrDefault("X-Reduce", "false"));
+
     private static final WiremockCountriesServer wiremockCountriesServer = new WiremockCountriesServer();
+    private static String mockServerUrl;
     private static JdkHttpClient jdkHttpClient;
 
     @BeforeAll
     public static void init() throws JsonProcessingException {
-        String mockServerUrl = wiremockCountriesServer.start();
+        mockServerUrl = wiremockCountriesServer.start();
         JdkClientTest.jdkHttpClient = new JdkHttpClient(mockServerUrl, Map.of(APICURIO_REQUEST_HEADERS_PREFIX, "issue #2581"), null, null);
     }
 
@@ -54,6 +61,28 @@ public class JdkClientTest {
         Assertions.assertEquals(france.getName(), "France");
     }
 
+    @Test
+    public void testGetAsync() {
+        final List<Country> countries = jdkHttpClient.sendRequestAsync(new Request.RequestBuilder<Country>()
+                        .path("countries/FR")
+                        .operation(Operation.GET)
+                        .responseType(new TypeReference<Country>() {
+                        })
+                        .build())
+                .thenCombine(jdkHttpClient.sendRequestAsync(new Request.RequestBuilder<Country>()
+                        .path("countries")
+                        .operation(Operation.POST)
+                        .data(IoUtil.toStream("{ \"name\": \"Greece\", \"capital\": \"Athens\" }"))
+                        .responseType(new TypeReference<Country>() {
+                        })
+                        .build()), List::of)
+                .toCompletableFuture()
+                .join();
+
+        Assertions.assertEquals(countries.get(0).getName(), "France");
+        Assertions.assertEquals(countries.get(1).getName(), "Greece");
+    }
+
     @Test
     public void testGetList() {
         final List<Country> countries = jdkHttpClient.sendRequest(new Request.RequestBuilder<List<Country>>()
@@ -80,6 +109,61 @@ public class JdkClientTest {
         Assertions.assertEquals(reducedCountries.size(), 3);
     }
 
+    @Test
+    public void testNextRequestHeadersAreScopedToClient() {
+        final JdkHttpClient otherClient = new JdkHttpClient(mockServerUrl, Collections.emptyMap(), null, null);
+        try {
+            jdkHttpClient.setNextRequestHeaders(Map.of("X-Reduced", "true"));
+
+            Assertions.assertEquals(6, getCountries(otherClient).size());
+            Assertions.assertEquals(3, getCountries(jdkHttpClient).size());
+            //the headers only apply to the next request
+            Assertions.assertEquals(6, getCountries(jdkHttpClient).size());
+        } finally {
+            otherClient.close();
+        }
+    }
+
+    @Test
+    public void testRequestHeadersAsync() {
+        final List<Country> reducedCountries = jdkHttpClient.sendRequestAsync(new Request.RequestBuilder<List<Country>>()
+                        .path("countries")
+                        .operation(Operation.GET)
+                        .header("X-Reduced", "true")
+                        .responseType(new TypeReference<List<Country>>() {
+                        })
+                        .build())
+                .toCompletableFuture()
+                .join();
+
+        Assertions.assertEquals(3, reducedCountries.size());
+    }
+
+    @Test
+    public void testDynamicAuthIsAppliedToRequestHeaders() {
+        final JdkHttpClient authClient = new JdkHttpClient(mockServerUrl, Collections.emptyMap(), REDUCING_AUTH, null);
+        try {
+            Assertions.assertEquals(3, authClient.sendRequest(new Request.RequestBuilder<List<Country>>()
+                    .path("countries")
+                    .operation(Operation.GET)
+                    .header("X-Reduce", "true")
+                    .responseType(new TypeReference<List<Country>>() {
+                    })
+                    .build()).size());
+        } finally {
+            authClient.close();
+        }
+    }
+
+    private static List<Country> getCountries(JdkHttpClient client) {
+        return client.sendRequest(new Request.RequestBuilder<List<Country>>()
+                .path("countries")
+                .operation(Operation.GET)
+                .responseType(new TypeReference<List<Country>>() {
+                })
+                .build());
+    }
+
 
     @AfterAll
     public static void stop() {
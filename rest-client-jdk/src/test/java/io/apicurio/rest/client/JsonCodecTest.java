@@ -0,0 +1,67 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.util.JsonCodec;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_CLIENT_OBJECT_MAPPER;
+
+public class JsonCodecTest {
+
+    private static WireMockServer wireMockServer;
+
+    @BeforeAll
+    public static void init() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/countries/FR"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{ \"name\": \"France\", \"capital\": \"Paris\", \"population\": 68000000 }")));
+    }
+
+    @Test
+    public void testDefaultMapperIgnoresUnknownProperties() {
+        final JdkHttpClient jdkHttpClient = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(), null, null);
+
+        Assertions.assertEquals("Paris", jdkHttpClient.sendRequest(getFrance()).getCapital());
+        Assertions.assertEquals("Paris", jdkHttpClient.sendRequest(getFrance()).getCapital());
+    }
+
+    @Test
+    public void testProvidedMapperIsUsed() {
+        final ObjectMapper strictMapper = JsonCodec.createDefaultMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+        final JdkHttpClient jdkHttpClient = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(APICURIO_CLIENT_OBJECT_MAPPER, strictMapper), null, null);
+
+        Assertions.assertThrows(RuntimeException.class, () -> jdkHttpClient.sendRequest(getFrance()));
+    }
+
+    private static Request<Country> getFrance() {
+        return new Request.RequestBuilder<Country>()
+                .path("countries/FR")
+                .operation(Operation.GET)
+                .responseType(new TypeReference<Country>() {
+                })
+                .build();
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+}
@@ -0,0 +1,73 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.util.PathTemplate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+public class PathTemplateTest {
+
+    private static WireMockServer wireMockServer;
+
+    @BeforeAll
+    public static void init() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/countries/C%C3%B4te%20d%27Ivoire?q=a%26b&q=c%3Dd&limit=1"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{ \"name\": \"C\u00f4te d'Ivoire\", \"capital\": \"Yamoussoukro\" }")));
+    }
+
+    @Test
+    public void testExpand() {
+        final PathTemplate template = PathTemplate.of("groups/%s/artifacts/%s");
+        Assertions.assertSame(template, PathTemplate.of("groups/%s/artifacts/%s"));
+        Assertions.assertEquals(2, template.getSlots());
+
+        final Map<String, List<String>> queryParams = new LinkedHashMap<>();
+        queryParams.put("labels", List.of("a b", "c"));
+        Assertions.assertEquals("groups/my%2Fgroup/artifacts/a~b.c_d-e?labels=a%20b&labels=c",
+                template.expand(List.of("my/group", "a~b.c_d-e"), queryParams));
+        Assertions.assertEquals("100%/x", PathTemplate.of("100%%/%s").expand(List.of("x"), Map.of()));
+        Assertions.assertEquals("a/b/a", PathTemplate.of("%1$s/%2$s/%1$s").expand(List.of("a", "b"), Map.of()));
+    }
+
+    @Test
+    public void testParamsAreEncoded() {
+        final JdkHttpClient jdkHttpClient = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(), null, null);
+        final Map<String, List<String>> queryParams = new LinkedHashMap<>();
+        queryParams.put("q", List.of("a&b", "c=d"));
+        queryParams.put("limit", List.of("1"));
+
+        final Country country = jdkHttpClient.sendRequest(new Request.RequestBuilder<Country>()
+                .path("countries/%s")
+                .pathParams(List.of("C\u00f4te d'Ivoire"))
+                .queryParams(queryParams)
+                .operation(Operation.GET)
+                .responseType(new TypeReference<Country>() {
+                })
+                .build());
+
+        Assertions.assertEquals("Yamoussoukro", country.getCapital());
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+}
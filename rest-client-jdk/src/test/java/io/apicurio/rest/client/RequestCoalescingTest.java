@@ -0,0 +1,78 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_COALESCING_ENABLED;
+
+public class RequestCoalescingTest {
+
+    private static WireMockServer wireMockServer;
+    private static JdkHttpClient jdkHttpClient;
+
+    @BeforeAll
+    public static void init() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/countries/FR"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withFixedDelay(1000)
+                        .withBody("{ \"name\": \"France\", \"capital\": \"Paris\" }")));
+
+        jdkHttpClient = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(APICURIO_REQUEST_COALESCING_ENABLED, "true"), null, null);
+    }
+
+    @Test
+    public void testConcurrentIdenticalRequestsAreCoalesced() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(20);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<Country>> responses = IntStream.range(0, 20)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return jdkHttpClient.sendRequest(new Request.RequestBuilder<Country>()
+                                .path("countries/FR")
+                                .operation(Operation.GET)
+                                .responseType(new TypeReference<Country>() {
+                                })
+                                .build());
+                    }))
+                    .collect(Collectors.toList());
+            start.countDown();
+
+            for (Future<Country> response : responses) {
+                Assertions.assertEquals("Paris", response.get().getCapital());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/countries/FR")));
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+}
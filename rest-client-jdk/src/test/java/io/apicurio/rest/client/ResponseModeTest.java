@@ -0,0 +1,206 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.handler.BodyHandler;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.request.ResponseMode;
+import io.apicurio.rest.client.util.JsonCodec;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.delete;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+public class ResponseModeTest {
+
+    private static final byte[] ARTIFACT = new byte[1024 * 1024];
+    private static final int COUNTRIES = 10_000;
+
+    private static WireMockServer wireMockServer;
+    private static JdkHttpClient client;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    public static void init() {
+        for (int i = 0; i < ARTIFACT.length; i++) {
+            ARTIFACT[i] = (byte) i;
+        }
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/artifacts/large"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/octet-stream")
+                        .withBody(ARTIFACT)));
+        wireMockServer.stubFor(delete(urlEqualTo("/artifacts/large"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{ \"deleted\": true }")));
+        wireMockServer.stubFor(get(urlEqualTo("/countries"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(IntStream.range(0, COUNTRIES)
+                                .mapToObj(i -> "{ \"name\": \"Country " + i + "\", \"capital\": \"Capital " + i + "\" }")
+                                .collect(Collectors.joining(", ", "[", "]")))));
+        client = new JdkHttpClient(wireMockServer.baseUrl(), Collections.emptyMap(), null, null);
+    }
+
+    @Test
+    public void testDefaultModeFollowsResponseType() {
+        Assertions.assertEquals(ResponseMode.STREAM, artifact(new TypeReference<InputStream>() {
+        }).build().getResponseMode());
+        Assertions.assertEquals(ResponseMode.DISCARD, artifact(new TypeReference<Void>() {
+        }).build().getResponseMode());
+        Assertions.assertEquals(ResponseMode.JSON, artifact(new TypeReference<List<Country>>() {
+        }).build().getResponseMode());
+        Assertions.assertEquals(ResponseMode.JSON_STREAM, artifact(new TypeReference<Iterator<Country>>() {
+        }).build().getResponseMode());
+        Assertions.assertEquals(ResponseMode.JSON_STREAM, artifact(new TypeReference<Stream<Country>>() {
+        }).build().getResponseMode());
+    }
+
+    @Test
+    public void testBytes() {
+        final byte[] body = client.sendRequest(artifact(new TypeReference<byte[]>() {
+        }).responseMode(ResponseMode.BYTES).build());
+
+        Assertions.assertArrayEquals(ARTIFACT, body);
+    }
+
+    @Test
+    public void testStream() throws Exception {
+        try (InputStream body = client.sendRequest(artifact(new TypeReference<InputStream>() {
+        }).build())) {
+            Assertions.assertArrayEquals(ARTIFACT, body.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testJsonStreamIterator() throws Exception {
+        final Iterator<Country> countries = client.sendRequest(countries(new TypeReference<Iterator<Country>>() {
+        }));
+
+        try (MappingIterator<Country> iterator = (MappingIterator<Country>) countries) {
+            int count = 0;
+            while (iterator.hasNext()) {
+                Assertions.assertEquals("Capital " + count, iterator.next().getCapital());
+                count++;
+            }
+            Assertions.assertEquals(COUNTRIES, count);
+        }
+    }
+
+    @Test
+    public void testJsonStream() {
+        try (Stream<Country> countries = client.sendRequest(countries(new TypeReference<Stream<Country>>() {
+        }))) {
+            Assertions.assertEquals(List.of("Country 0", "Country 1", "Country 2"), countries.limit(3).map(Country::getName).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testFile() throws Exception {
+        final Path target = tempDir.resolve("artifact.bin");
+        Files.write(target, new byte[]{1, 2, 3});
+
+        final Path written = client.sendRequest(artifact(new TypeReference<Path>() {
+        }).responseFile(target).build());
+
+        Assertions.assertEquals(target, written);
+        Assertions.assertArrayEquals(ARTIFACT, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testFileAsync() throws Exception {
+        final Path target = tempDir.resolve("artifact-async.bin");
+
+        final Path written = client.sendRequestAsync(artifact(new TypeReference<Path>() {
+        }).responseFile(target).build()).toCompletableFuture().get();
+
+        Assertions.assertEquals(target, written);
+        Assertions.assertArrayEquals(ARTIFACT, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testDiscard() {
+        final Void body = client.sendRequest(new Request.RequestBuilder<Void>()
+                .operation(Operation.DELETE)
+                .path("artifacts/large")
+                .responseType(new TypeReference<Void>() {
+                })
+                .build());
+
+        Assertions.assertNull(body);
+    }
+
+    @Test
+    public void testDiscardedBodyIsClosed() throws Exception {
+        //bodies read from a stream, when decoded or cached, are released once discarded
+        final AtomicBoolean closed = new AtomicBoolean();
+        final InputStream stream = new ByteArrayInputStream(ARTIFACT) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        final Request<Void> request = new Request.RequestBuilder<Void>()
+                .operation(Operation.DELETE)
+                .path("artifacts/large")
+                .responseType(new TypeReference<Void>() {
+                })
+                .build();
+
+        Assertions.assertNull(BodyHandler.readBody(stream, 200, request, null, JsonCodec.getDefault()));
+        Assertions.assertTrue(closed.get());
+        Assertions.assertEquals(0, stream.available());
+    }
+
+    @Test
+    public void testFileModeRequiresFile() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> artifact(new TypeReference<Path>() {
+        }).responseMode(ResponseMode.FILE).build());
+    }
+
+    private static <T> Request<T> countries(TypeReference<T> responseType) {
+        return new Request.RequestBuilder<T>()
+                .operation(Operation.GET)
+                .path("countries")
+                .responseType(responseType)
+                .build();
+    }
+
+    private static <T> Request.RequestBuilder<T> artifact(TypeReference<T> responseType) {
+        return new Request.RequestBuilder<T>()
+                .operation(Operation.GET)
+                .path("artifacts/large")
+                .responseType(responseType);
+    }
+
+    @AfterAll
+    public static void stop() {
+        client.close();
+        wireMockServer.stop();
+    }
+}
@@ -0,0 +1,181 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_RETRY_BUDGET_MAX_TOKENS;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_RETRY_BUDGET_TOKEN_RATIO;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_RETRY_ENABLED;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_RETRY_INITIAL_BACKOFF;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_RETRY_MAX_ATTEMPTS;
+
+public class RetryTest {
+
+    private static final String FRANCE = "{ \"name\": \"France\", \"capital\": \"Paris\" }";
+
+    private static WireMockServer wireMockServer;
+
+    @BeforeAll
+    public static void init() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+    }
+
+    @BeforeEach
+    public void reset() {
+        wireMockServer.resetAll();
+    }
+
+    @Test
+    public void testUnavailableServerIsRetried() {
+        failOnce(503, null);
+        final JdkHttpClient client = client(Map.of());
+
+        Assertions.assertEquals("Paris", client.sendRequest(request(Operation.GET)).getCapital());
+        Assertions.assertEquals(2, requestCount());
+    }
+
+    @Test
+    public void testAsyncRequestIsRetried() {
+        failOnce(502, null);
+        final JdkHttpClient client = client(Map.of());
+
+        Assertions.assertEquals("Paris", client.sendRequestAsync(request(Operation.GET)).toCompletableFuture().join().getCapital());
+        Assertions.assertEquals(2, requestCount());
+    }
+
+    @Test
+    public void testTooManyRequestsIsRetriedAfterDelay() {
+        failOnce(429, "0");
+        final JdkHttpClient client = client(Map.of());
+
+        Assertions.assertEquals("Paris", client.sendRequest(request(Operation.GET)).getCapital());
+        Assertions.assertEquals(2, requestCount());
+    }
+
+    @Test
+    public void testTooManyRequestsWithoutRetryAfterIsNotRetried() {
+        failOnce(429, null);
+        final JdkHttpClient client = client(Map.of());
+
+        Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(request(Operation.GET)));
+        Assertions.assertEquals(1, requestCount());
+    }
+
+    @Test
+    public void testNonIdempotentRequestIsNotRetried() {
+        failOnce(503, null);
+        final JdkHttpClient client = client(Map.of());
+
+        Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(request(Operation.POST)));
+        Assertions.assertEquals(1, requestCount());
+    }
+
+    @Test
+    public void testStreamedBodyIsSentAgain() {
+        failOnce(503, null);
+        final JdkHttpClient client = client(Map.of());
+        final byte[] body = FRANCE.getBytes(StandardCharsets.UTF_8);
+
+        Assertions.assertEquals("Paris", client.sendRequest(new Request.RequestBuilder<Country>()
+                .path("countries/FR")
+                .operation(Operation.PUT)
+                .data(new ByteArrayInputStream(body), body.length)
+                .responseType(new TypeReference<Country>() {
+                })
+                .build()).getCapital());
+        wireMockServer.verify(2, putRequestedFor(urlEqualTo("/countries/FR")).withRequestBody(equalTo(FRANCE)));
+    }
+
+    @Test
+    public void testStreamedBodyOfUnknownLengthIsNotSentAgain() {
+        failOnce(503, null);
+        final JdkHttpClient client = client(Map.of());
+        final byte[] body = FRANCE.getBytes(StandardCharsets.UTF_8);
+
+        //buffering the whole stream to send it again is not bounded
+        Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(new Request.RequestBuilder<Country>()
+                .path("countries/FR")
+                .operation(Operation.PUT)
+                .data(new BufferedInputStream(new ByteArrayInputStream(body)))
+                .responseType(new TypeReference<Country>() {
+                })
+                .build()));
+        Assertions.assertEquals(1, requestCount());
+    }
+
+    @Test
+    public void testRetryBudgetLimitsRetries() {
+        wireMockServer.stubFor(any(anyUrl()).willReturn(aResponse().withStatus(503)));
+        final JdkHttpClient client = client(Map.of(APICURIO_REQUEST_RETRY_MAX_ATTEMPTS, 5,
+                APICURIO_REQUEST_RETRY_BUDGET_MAX_TOKENS, 1,
+                APICURIO_REQUEST_RETRY_BUDGET_TOKEN_RATIO, 0));
+
+        Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(request(Operation.GET)));
+        Assertions.assertEquals(2, requestCount());
+        Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(request(Operation.GET)));
+        Assertions.assertEquals(3, requestCount());
+    }
+
+    private static void failOnce(int status, String retryAfter) {
+        wireMockServer.stubFor(any(urlEqualTo("/countries/FR"))
+                .inScenario("retry")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(retryAfter == null ? aResponse().withStatus(status) : aResponse().withStatus(status).withHeader("Retry-After", retryAfter))
+                .willSetStateTo("available"));
+        wireMockServer.stubFor(any(urlEqualTo("/countries/FR"))
+                .inScenario("retry")
+                .whenScenarioStateIs("available")
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(FRANCE)));
+    }
+
+    private static int requestCount() {
+        return wireMockServer.countRequestsMatching(anyRequestedFor(anyUrl()).build()).getCount();
+    }
+
+    private static JdkHttpClient client(Map<String, Object> retryConfig) {
+        final Map<String, Object> config = new HashMap<>(retryConfig);
+        config.put(APICURIO_REQUEST_RETRY_ENABLED, true);
+        config.put(APICURIO_REQUEST_RETRY_INITIAL_BACKOFF, 1);
+        return new JdkHttpClient(wireMockServer.baseUrl(), config, null, null);
+    }
+
+    private static Request<Country> request(Operation operation) {
+        return new Request.RequestBuilder<Country>()
+                .path("countries/FR")
+                .operation(operation)
+                .data(FRANCE)
+                .responseType(new TypeReference<Country>() {
+                })
+                .build();
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+}
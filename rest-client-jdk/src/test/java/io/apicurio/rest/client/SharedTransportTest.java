@@ -0,0 +1,143 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_CLIENT_SHARED_TRANSPORT;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_CONNECT_TIMEOUT;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_HEADERS_PREFIX;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_HTTP_VERSION;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_TRUSTSTORE_LOCATION;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_TRUSTSTORE_PASSWORD;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_TRUSTSTORE_TYPE;
+
+public class SharedTransportTest {
+
+    //not used by the other tests, so that their clients do not share the transports of these ones
+    private static final String CONNECT_TIMEOUT = "4321";
+
+    private static WireMockServer wireMockServer;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    public static void init() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/countries"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[{ \"name\": \"France\", \"capital\": \"Paris\" }]")));
+    }
+
+    @Test
+    public void testClientsWithSameTransportSettingsShareHttpClient() {
+        final JdkHttpClient client = client(Map.of(APICURIO_REQUEST_CONNECT_TIMEOUT, CONNECT_TIMEOUT));
+        //request headers are not transport settings
+        final JdkHttpClient sameTransport = client(Map.of(APICURIO_REQUEST_CONNECT_TIMEOUT, Long.valueOf(CONNECT_TIMEOUT),
+                APICURIO_REQUEST_HEADERS_PREFIX + "X-Test", "test"));
+        final JdkHttpClient otherVersion = client(Map.of(APICURIO_REQUEST_CONNECT_TIMEOUT, CONNECT_TIMEOUT, APICURIO_REQUEST_HTTP_VERSION, "HTTP_2"));
+        final JdkHttpClient notShared = client(Map.of(APICURIO_REQUEST_CONNECT_TIMEOUT, CONNECT_TIMEOUT, APICURIO_CLIENT_SHARED_TRANSPORT, "false"));
+        try {
+            Assertions.assertSame(client.getHttpClient(), sameTransport.getHttpClient());
+            Assertions.assertNotSame(client.getHttpClient(), otherVersion.getHttpClient());
+            Assertions.assertNotSame(client.getHttpClient(), notShared.getHttpClient());
+        } finally {
+            client.close();
+            sameTransport.close();
+            otherVersion.close();
+            notShared.close();
+        }
+    }
+
+    @Test
+    public void testHttpClientIsReleasedByLastClient() {
+        final Map<String, Object> configs = Map.of(APICURIO_REQUEST_CONNECT_TIMEOUT, CONNECT_TIMEOUT);
+        final JdkHttpClient first = client(configs);
+        final JdkHttpClient second = client(configs);
+
+        first.close();
+        //closing twice releases the transport once
+        first.close();
+        Assertions.assertEquals("Paris", second.sendRequest(getCountries()).get(0).getCapital());
+        final JdkHttpClient third = client(configs);
+        Assertions.assertSame(second.getHttpClient(), third.getHttpClient());
+
+        second.close();
+        third.close();
+        final JdkHttpClient fourth = client(configs);
+        try {
+            Assertions.assertNotSame(second.getHttpClient(), fourth.getHttpClient());
+            Assertions.assertEquals("Paris", fourth.sendRequest(getCountries()).get(0).getCapital());
+        } finally {
+            fourth.close();
+        }
+    }
+
+    @Test
+    public void testReplacedTrustStoreIsLoadedByNewClients() throws Exception {
+        final Path truststore = tempDir.resolve("truststore.p12");
+        writeTrustStore(truststore, "changeit");
+        final Map<String, Object> configs = Map.of(APICURIO_REQUEST_CONNECT_TIMEOUT, CONNECT_TIMEOUT,
+                APICURIO_REQUEST_TRUSTSTORE_LOCATION, truststore.toString(), APICURIO_REQUEST_TRUSTSTORE_TYPE, "PKCS12",
+                APICURIO_REQUEST_TRUSTSTORE_PASSWORD, "changeit");
+        final JdkHttpClient client = client(configs);
+        final JdkHttpClient sameStore = client(configs);
+        //rotated in place, under the same location and password
+        writeTrustStore(truststore, "changeit");
+        final JdkHttpClient rotated = client(configs);
+        try {
+            Assertions.assertSame(client.getHttpClient(), sameStore.getHttpClient());
+            Assertions.assertNotSame(client.getHttpClient(), rotated.getHttpClient());
+        } finally {
+            client.close();
+            sameStore.close();
+            rotated.close();
+        }
+    }
+
+    private static void writeTrustStore(Path location, String password) throws Exception {
+        final KeyStore truststore = KeyStore.getInstance("PKCS12");
+        truststore.load(null, password.toCharArray());
+        try (OutputStream out = Files.newOutputStream(location)) {
+            truststore.store(out, password.toCharArray());
+        }
+    }
+
+    private static JdkHttpClient client(Map<String, Object> configs) {
+        return new JdkHttpClient(wireMockServer.baseUrl(), configs, null, null);
+    }
+
+    private static Request<List<Country>> getCountries() {
+        return new Request.RequestBuilder<List<Country>>()
+                .operation(Operation.GET)
+                .path("countries")
+                .responseType(new TypeReference<List<Country>>() {
+                })
+                .build();
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+}
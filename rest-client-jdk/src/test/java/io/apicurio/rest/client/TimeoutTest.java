@@ -0,0 +1,188 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.error.ApicurioRestClientException;
+import io.apicurio.rest.client.error.RestClientErrorHandler;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_READ_TIMEOUT;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_TIMEOUT;
+
+public class TimeoutTest {
+
+    private static final String FRANCE = "{ \"name\": \"France\", \"capital\": \"Paris\" }";
+
+    private static WireMockServer wireMockServer;
+
+    @BeforeAll
+    public static void init() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+    }
+
+    @BeforeEach
+    public void reset() {
+        wireMockServer.resetAll();
+    }
+
+    @Test
+    public void testDeadlineAbortsSlowResponse() {
+        respondAfter(3000);
+        final JdkHttpClient client = client(Map.of(APICURIO_REQUEST_TIMEOUT, 300));
+
+        final long start = System.nanoTime();
+        final RuntimeException failure = Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(getFrance().build()));
+        assertTimedOut(failure);
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2000);
+    }
+
+    @Test
+    public void testDeadlineAbortsAsyncRequest() {
+        respondAfter(3000);
+        final JdkHttpClient client = client(Map.of(APICURIO_REQUEST_TIMEOUT, 300));
+
+        final Exception failure = Assertions.assertThrows(Exception.class, () -> client.sendRequestAsync(getFrance().build()).toCompletableFuture().join());
+        assertTimedOut(failure);
+    }
+
+    @Test
+    public void testDeadlineCoversResponseBody() {
+        wireMockServer.stubFor(get(urlEqualTo("/countries/FR"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(FRANCE)
+                        .withChunkedDribbleDelay(10, 3000)));
+        final JdkHttpClient client = client(Map.of(APICURIO_REQUEST_TIMEOUT, 500));
+
+        final long start = System.nanoTime();
+        final RuntimeException failure = Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(getFrance().build()));
+        assertTimedOut(failure);
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2500);
+    }
+
+    @Test
+    public void testReadTimeout() {
+        respondAfter(3000);
+        final JdkHttpClient client = client(Map.of(APICURIO_REQUEST_READ_TIMEOUT, 300));
+
+        assertTimedOut(Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(getFrance().build())));
+    }
+
+    @Test
+    public void testRequestOverridesClientTimeout() {
+        respondAfter(500);
+        final JdkHttpClient client = client(Map.of(APICURIO_REQUEST_TIMEOUT, 100));
+
+        Assertions.assertEquals("Paris", client.sendRequest(getFrance().timeout(Duration.ZERO).build()).getCapital());
+        assertTimedOut(Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(getFrance().build())));
+
+        final JdkHttpClient withoutTimeout = client(Map.of());
+        assertTimedOut(Assertions.assertThrows(RuntimeException.class,
+                () -> withoutTimeout.sendRequest(getFrance().timeout(Duration.ofMillis(100)).build())));
+        Assertions.assertEquals("Paris", withoutTimeout.sendRequest(getFrance().build()).getCapital());
+    }
+
+    @Test
+    public void testStreamedResponseIsNotBoundToDeadline() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/countries/FR"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(FRANCE)
+                        .withChunkedDribbleDelay(4, 800)));
+        final JdkHttpClient client = client(Map.of(APICURIO_REQUEST_TIMEOUT, 400));
+
+        final Request<InputStream> request = new Request.RequestBuilder<InputStream>()
+                .path("countries/FR")
+                .operation(Operation.GET)
+                .responseType(new TypeReference<InputStream>() {
+                })
+                .build();
+        try (InputStream body = client.sendRequest(request)) {
+            Assertions.assertEquals(FRANCE, new String(body.readAllBytes()));
+        }
+    }
+
+    private static void assertTimedOut(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpTimeoutException) {
+                return;
+            }
+        }
+        Assertions.fail("Expected a timeout", failure);
+    }
+
+    private static void respondAfter(int delay) {
+        wireMockServer.stubFor(get(urlEqualTo("/countries/FR"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(FRANCE)
+                        .withFixedDelay(delay)));
+    }
+
+    private static JdkHttpClient client(Map<String, Object> timeoutConfig) {
+        final Map<String, Object> config = new HashMap<>(timeoutConfig);
+        return new JdkHttpClient(wireMockServer.baseUrl(), config, null, new TestErrorHandler());
+    }
+
+    private static Request.RequestBuilder<Country> getFrance() {
+        return new Request.RequestBuilder<Country>()
+                .path("countries/FR")
+                .operation(Operation.GET)
+                .responseType(new TypeReference<Country>() {
+                });
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+
+    private static class TestErrorHandler implements RestClientErrorHandler {
+
+        @Override
+        public ApicurioRestClientException handleErrorResponse(InputStream body, int statusCode) {
+            return new TestClientException("Unexpected status " + statusCode);
+        }
+
+        @Override
+        public ApicurioRestClientException parseError(Exception ex) {
+            return new TestClientException(ex);
+        }
+
+        @Override
+        public ApicurioRestClientException parseInputSerializingError(JsonProcessingException ex) {
+            return new TestClientException(ex);
+        }
+    }
+
+    private static class TestClientException extends ApicurioRestClientException {
+
+        private static final long serialVersionUID = 1L;
+
+        TestClientException(String error) {
+            super(error);
+        }
+
+        TestClientException(Throwable throwable) {
+            super(throwable);
+        }
+    }
+}
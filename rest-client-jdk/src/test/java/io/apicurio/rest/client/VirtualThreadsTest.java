@@ -0,0 +1,76 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.util.VirtualThreads;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_CLIENT_VIRTUAL_THREADS;
+
+public class VirtualThreadsTest {
+
+    private static WireMockServer wireMockServer;
+
+    @BeforeAll
+    public static void init() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/countries/FR"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{ \"name\": \"France\", \"capital\": \"Paris\" }")
+                        .withFixedDelay(200)));
+    }
+
+    @Test
+    public void testRequestsWithVirtualThreadsOption() {
+        //the option is ignored before Java 21
+        final JdkHttpClient client = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(APICURIO_CLIENT_VIRTUAL_THREADS, true), null, null);
+        try {
+            Assertions.assertEquals("Paris", client.sendRequest(getFrance()).getCapital());
+            Assertions.assertEquals("Paris", client.sendRequestAsync(getFrance()).toCompletableFuture().join().getCapital());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testResponsesAreHandledOnVirtualThreads() {
+        Assumptions.assumeTrue(VirtualThreads.isSupported(), "Virtual threads require Java 21");
+        final JdkHttpClient client = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(APICURIO_CLIENT_VIRTUAL_THREADS, "true"), null, null);
+        try {
+            final CompletableFuture<Boolean> handledOnVirtualThread = client.sendRequestAsync(getFrance()).toCompletableFuture()
+                    .thenApply(country -> VirtualThreads.isVirtual(Thread.currentThread()));
+            Assertions.assertTrue(handledOnVirtualThread.join());
+        } finally {
+            client.close();
+        }
+    }
+
+    private static Request<Country> getFrance() {
+        return new Request.RequestBuilder<Country>()
+                .path("countries/FR")
+                .operation(Operation.GET)
+                .responseType(new TypeReference<Country>() {
+                })
+                .build();
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+}
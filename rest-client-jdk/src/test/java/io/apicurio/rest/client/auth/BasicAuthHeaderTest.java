@@ -0,0 +1,63 @@
+package io.apicurio.rest.client.auth;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.Country;
+import io.apicurio.rest.client.JdkHttpClient;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+public class BasicAuthHeaderTest {
+
+    private static WireMockServer wireMockServer;
+
+    @BeforeAll
+    public static void init() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        //"user:pass" encoded
+        wireMockServer.stubFor(get(urlEqualTo("/countries/FR"))
+                .withHeader("Authorization", equalTo("Basic dXNlcjpwYXNz"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{ \"name\": \"France\", \"capital\": \"Paris\" }")));
+    }
+
+    @Test
+    public void testStaticHeaderIsApplied() {
+        final BasicAuth auth = new BasicAuth("user", "pass");
+        final JdkHttpClient jdkHttpClient = new JdkHttpClient(wireMockServer.baseUrl(), Map.of(), auth, null);
+
+        Assertions.assertEquals(Map.of("Authorization", "Basic dXNlcjpwYXNz"), auth.getStaticHeaders());
+        Assertions.assertEquals("Paris", jdkHttpClient.sendRequest(getFrance(Map.of())).getCapital());
+        //the auth header replaces the one of the request
+        Assertions.assertEquals("Paris", jdkHttpClient.sendRequest(getFrance(Map.of("Authorization", "Basic other"))).getCapital());
+    }
+
+    private static Request<Country> getFrance(Map<String, String> headers) {
+        return new Request.RequestBuilder<Country>()
+                .path("countries/FR")
+                .operation(Operation.GET)
+                .headers(headers)
+                .responseType(new TypeReference<Country>() {
+                })
+                .build();
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+}
@@ -0,0 +1,119 @@
+package io.apicurio.rest.client.auth;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.JdkHttpClient;
+import io.apicurio.rest.client.auth.exception.AuthErrorHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+public class OidcTokenRefreshTest {
+
+    private WireMockServer wireMockServer;
+
+    @BeforeEach
+    public void init() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+    }
+
+    @Test
+    public void testConcurrentCallersShareOneTokenRequest() throws Exception {
+        stubTokenEndpoint(3600, 300);
+        final OidcAuth auth = OidcAuth.builder(tokenClient(), "client", "secret").build();
+
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<CompletableFuture<String>> headers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            headers.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                final Map<String, String> requestHeaders = new HashMap<>();
+                auth.apply(requestHeaders);
+                return requestHeaders.get("Authorization");
+            }, executor));
+        }
+        start.countDown();
+
+        for (CompletableFuture<String> header : headers) {
+            Assertions.assertEquals("Bearer token", header.get());
+        }
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo("/")));
+        executor.shutdown();
+        auth.close();
+    }
+
+    @Test
+    public void testTokenIsRefreshedInBackground() throws Exception {
+        stubTokenEndpoint(2, 0);
+        final OidcAuth auth = OidcAuth.builder(tokenClient(), "client", "secret")
+                .refreshRatio(0.25)
+                .backgroundRefresh(true)
+                .build();
+
+        Assertions.assertEquals("token", auth.authenticate());
+        Thread.sleep(1200);
+
+        Assertions.assertTrue(wireMockServer.countRequestsMatching(postRequestedFor(urlEqualTo("/")).build()).getCount() >= 2);
+        auth.close();
+    }
+
+    @Test
+    public void testValidTokenIsUsedWhileRefreshed() throws Exception {
+        stubTokenEndpoint(2, 0);
+        final OidcAuth auth = OidcAuth.builder(tokenClient(), "client", "secret")
+                .refreshRatio(0.25)
+                .build();
+
+        Assertions.assertEquals("token", auth.authenticate());
+        Thread.sleep(700);
+        stubTokenEndpoint(2, 1500);
+
+        //past the refresh point the token is renewed without waiting for the identity server
+        final long start = System.nanoTime();
+        Assertions.assertEquals("token", auth.authenticate());
+        Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        Thread.sleep(2000);
+        wireMockServer.verify(2, postRequestedFor(urlEqualTo("/")));
+        auth.close();
+    }
+
+    private void stubTokenEndpoint(int expiresIn, int delayMillis) {
+        wireMockServer.stubFor(post(urlEqualTo("/"))
+                .willReturn(aResponse()
+                        .withFixedDelay(delayMillis)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{ \"access_token\": \"token\", \"expires_in\": " + expiresIn + " }")));
+    }
+
+    private JdkHttpClient tokenClient() {
+        return new JdkHttpClient(wireMockServer.baseUrl(), Map.of(), null, new AuthErrorHandler());
+    }
+
+    @AfterEach
+    public void stop() {
+        wireMockServer.stop();
+    }
+}
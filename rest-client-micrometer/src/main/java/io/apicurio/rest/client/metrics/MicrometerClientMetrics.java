@@ -0,0 +1,124 @@
+package io.apicurio.rest.client.metrics;
+
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.spi.ClientMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ClientMetrics} binding to a Micrometer {@link MeterRegistry}. Request latencies are published as
+ * histograms tagged by operation, path template and status class, e.g. {@code 2xx}, or {@code error} when no
+ * response was received.
+ * <p>
+ * Pass an instance to the clients with the {@code apicurio.rest.client.metrics} config entry, and to
+ * {@code OidcAuth#setClientMetrics} to record token requests.
+ */
+public class MicrometerClientMetrics implements ClientMetrics {
+
+    public static final String REQUESTS = "apicurio.rest.client.requests";
+    public static final String ACTIVE_REQUESTS = "apicurio.rest.client.requests.active";
+    public static final String REQUEST_SIZE = "apicurio.rest.client.request.size";
+    public static final String RESPONSE_SIZE = "apicurio.rest.client.response.size";
+    public static final String TOKEN_REQUESTS = "apicurio.rest.client.token.requests";
+
+    private static final String ERROR_STATUS = "error";
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final AtomicInteger activeRequests = new AtomicInteger();
+
+    private final ConcurrentHashMap<String, Timer> requestTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, DistributionSummary> requestSizes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, DistributionSummary> responseSizes = new ConcurrentHashMap<>();
+    private final Timer tokenSuccesses;
+    private final Timer tokenFailures;
+
+    public MicrometerClientMetrics(MeterRegistry registry) {
+        this(registry, Tags.empty());
+    }
+
+    /**
+     * @param tags added to every meter, e.g. to tell several clients apart
+     */
+    public MicrometerClientMetrics(MeterRegistry registry, Iterable<Tag> tags) {
+        this.registry = registry;
+        this.tags = Tags.of(tags);
+        Gauge.builder(ACTIVE_REQUESTS, activeRequests, AtomicInteger::get)
+                .description("Requests in flight")
+                .tags(this.tags)
+                .register(registry);
+        this.tokenSuccesses = tokenTimer("success");
+        this.tokenFailures = tokenTimer("failure");
+    }
+
+    @Override
+    public void requestStarted(Operation operation, String pathTemplate) {
+        activeRequests.incrementAndGet();
+    }
+
+    @Override
+    public void requestCompleted(Operation operation, String pathTemplate, int statusCode, long requestBytes, long responseBytes, long durationNanos) {
+        activeRequests.decrementAndGet();
+        requestTimer(operation, pathTemplate, (statusCode / 100) + "xx").record(durationNanos, TimeUnit.NANOSECONDS);
+        if (requestBytes >= 0) {
+            size(requestSizes, REQUEST_SIZE, operation, pathTemplate).record(requestBytes);
+        }
+        if (responseBytes >= 0) {
+            size(responseSizes, RESPONSE_SIZE, operation, pathTemplate).record(responseBytes);
+        }
+    }
+
+    @Override
+    public void requestFailed(Operation operation, String pathTemplate, Throwable failure, long durationNanos) {
+        activeRequests.decrementAndGet();
+        requestTimer(operation, pathTemplate, ERROR_STATUS).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void tokenRequested(long durationNanos, boolean succeeded) {
+        (succeeded ? tokenSuccesses : tokenFailures).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer requestTimer(Operation operation, String pathTemplate, String status) {
+        return requestTimers.computeIfAbsent(operation + " " + pathTemplate + " " + status, key -> Timer.builder(REQUESTS)
+                .description("Duration of the requests")
+                .tags(tags)
+                .tag("operation", String.valueOf(operation))
+                .tag("path", pathTemplate)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private DistributionSummary size(ConcurrentHashMap<String, DistributionSummary> summaries, String name, Operation operation, String pathTemplate) {
+        return summaries.computeIfAbsent(operation + " " + pathTemplate, key -> DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tags(tags)
+                .tag("operation", String.valueOf(operation))
+                .tag("path", pathTemplate)
+                .register(registry));
+    }
+
+    private Timer tokenTimer(String outcome) {
+        return Timer.builder(TOKEN_REQUESTS)
+                .description("Duration of the access token requests")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * @return number of requests in flight
+     */
+    public int getActiveRequests() {
+        return activeRequests.get();
+    }
+}
@@ -0,0 +1,46 @@
+package io.apicurio.rest.client.metrics;
+
+import io.apicurio.rest.client.request.Operation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class MicrometerClientMetricsTest {
+
+    @Test
+    public void testRequestsAreRecorded() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final MicrometerClientMetrics metrics = new MicrometerClientMetrics(registry, Tags.of("client", "registry"));
+
+        metrics.requestStarted(Operation.GET, "groups/%s/artifacts");
+        metrics.requestStarted(Operation.GET, "groups/%s/artifacts");
+        Assertions.assertEquals(2, registry.get(MicrometerClientMetrics.ACTIVE_REQUESTS).gauge().value());
+
+        metrics.requestCompleted(Operation.GET, "groups/%s/artifacts", 200, 0, 512, TimeUnit.MILLISECONDS.toNanos(20));
+        metrics.requestFailed(Operation.GET, "groups/%s/artifacts", new RuntimeException(), TimeUnit.MILLISECONDS.toNanos(5));
+        Assertions.assertEquals(0, registry.get(MicrometerClientMetrics.ACTIVE_REQUESTS).gauge().value());
+
+        Assertions.assertEquals(1, registry.get(MicrometerClientMetrics.REQUESTS)
+                .tags("client", "registry", "operation", "GET", "path", "groups/%s/artifacts", "status", "2xx")
+                .timer().count());
+        Assertions.assertEquals(1, registry.get(MicrometerClientMetrics.REQUESTS)
+                .tags("status", "error")
+                .timer().count());
+        Assertions.assertEquals(512, registry.get(MicrometerClientMetrics.RESPONSE_SIZE).summary().totalAmount());
+    }
+
+    @Test
+    public void testTokenRequestsAreRecorded() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final MicrometerClientMetrics metrics = new MicrometerClientMetrics(registry);
+
+        metrics.tokenRequested(TimeUnit.MILLISECONDS.toNanos(100), true);
+
+        Assertions.assertEquals(1, registry.get(MicrometerClientMetrics.TOKEN_REQUESTS).tags("outcome", "success").timer().count());
+        Assertions.assertEquals(0, registry.get(MicrometerClientMetrics.TOKEN_REQUESTS).tags("outcome", "failure").timer().count());
+    }
+}
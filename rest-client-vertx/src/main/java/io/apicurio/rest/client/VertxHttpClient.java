@@ -1,30 +1,66 @@
 package io.apicurio.rest.client;
 
+import static io.apicurio.rest.client.util.ConfigUtil.toBoolean;
+
 import io.apicurio.rest.client.auth.Auth;
+import io.apicurio.rest.client.cache.CachedResponse;
+import io.apicurio.rest.client.cache.ResponseCache;
+import io.apicurio.rest.client.compression.Compression;
 import io.apicurio.rest.client.config.ApicurioClientConfig;
 import io.apicurio.rest.client.error.RestClientErrorHandler;
+import io.apicurio.rest.client.request.NextRequestHeaders;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.ExchangeRecorder;
+import io.apicurio.rest.client.request.InputStreamReadStream;
 import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.request.RequestCoalescer;
+import io.apicurio.rest.client.request.RequestKey;
+import io.apicurio.rest.client.request.RequestResult;
+import io.apicurio.rest.client.request.RequestTimeouts;
+import io.apicurio.rest.client.request.ResponseMode;
+import io.apicurio.rest.client.request.RetryPolicy;
 import io.apicurio.rest.client.response.ResponseHandler;
+import io.apicurio.rest.client.response.StreamingResponseHandler;
 import io.apicurio.rest.client.spi.ApicurioHttpClient;
+import io.apicurio.rest.client.spi.ClientMetrics;
 import io.apicurio.rest.client.util.ConcurrentUtil;
+import io.apicurio.rest.client.util.ConfigUtil;
 import io.apicurio.rest.client.util.IoUtil;
+import io.apicurio.rest.client.util.JsonCodec;
 import io.apicurio.rest.client.util.UriUtil;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.core.http.RequestOptions;
 import io.vertx.core.net.PemTrustOptions;
 import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 
-import java.net.URI;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -32,13 +68,27 @@ import java.util.stream.Collectors;
  */
 public class VertxHttpClient implements ApicurioHttpClient {
 
+    private static final int DEFAULT_STREAMING_WINDOW_SIZE = 64 * 1024;
+
+    private final Vertx vertx;
+    private final HttpClient httpClient;
     private final WebClient webClient;
+    private final boolean streaming;
+    private final int streamingWindowSize;
     private final Auth auth;
+    private final Map<String, String> staticAuthHeaders;
     private final String basePath;
     private final RestClientErrorHandler errorHandler;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer coalescer;
+    private final RetryPolicy retryPolicy;
+    private final RequestTimeouts timeouts;
+    private final Compression compression;
+    private final JsonCodec jsonCodec;
+    private final ClientMetrics metrics;
 
     private final Map<String, String> DEFAULT_HEADERS = new HashMap<>();
-    private static final ThreadLocal<Map<String, String>> requestHeaders = ThreadLocal.withInitial(Collections::emptyMap);
+    private final NextRequestHeaders nextRequestHeaders = new NextRequestHeaders();
 
     public VertxHttpClient(Vertx vertx, String basePath, Map<String, Object> options, Auth auth, RestClientErrorHandler errorHandler) {
         if (!basePath.endsWith("/")) {
@@ -50,22 +100,90 @@ public class VertxHttpClient implements ApicurioHttpClient {
             basePath = basePath + options.getOrDefault("apicurio.rest.client.auto-base-path", "");
         }
 
-        this.webClient = WebClient.create(vertx, createClientOptions(options));
+        final WebClientOptions clientOptions = createClientOptions(options);
+        this.vertx = vertx;
+        //requests consuming their response as it arrives, or which must be reset by their deadline, are sent with
+        //the core client, the others with the web client over the same connection pool
+        this.httpClient = vertx.createHttpClient(clientOptions);
+        this.webClient = WebClient.wrap(httpClient, clientOptions);
+        this.streaming = toBoolean(options.get(ApicurioClientConfig.APICURIO_REQUEST_STREAMING_ENABLED));
+        final Integer windowSize = ConfigUtil.getInteger(options, ApicurioClientConfig.APICURIO_REQUEST_STREAMING_WINDOW_SIZE);
+        this.streamingWindowSize = windowSize == null ? DEFAULT_STREAMING_WINDOW_SIZE : windowSize;
         this.auth = auth;
+        this.staticAuthHeaders = auth == null ? Collections.emptyMap() : Map.copyOf(auth.getStaticHeaders());
         this.basePath = basePath;
         this.errorHandler = errorHandler;
+        this.responseCache = ResponseCache.fromConfig(options);
+        this.coalescer = RequestCoalescer.fromConfig(options);
+        this.retryPolicy = RetryPolicy.fromConfig(options);
+        this.timeouts = RequestTimeouts.fromConfig(options);
+        this.compression = Compression.fromConfig(options);
+        this.jsonCodec = JsonCodec.fromConfig(options);
+        this.metrics = ClientMetrics.fromConfig(options);
         processConfiguration(options);
     }
 
-    private WebClientOptions createClientOptions(Map<String, Object> config) {
+    static WebClientOptions createClientOptions(Map<String, Object> config) {
         WebClientOptions options = new WebClientOptions();
         if (config.containsKey(ApicurioClientConfig.APICURIO_REQUEST_CA_BUNDLE_LOCATION)) {
             options.setPemTrustOptions(new PemTrustOptions().addCertPath((String)config.get(ApicurioClientConfig.APICURIO_REQUEST_CA_BUNDLE_LOCATION)));
             options.setSsl(true);
         }
+        if (config.containsKey(ApicurioClientConfig.APICURIO_REQUEST_HTTP_VERSION)) {
+            HttpVersion version = HttpVersion.valueOf(String.valueOf(config.get(ApicurioClientConfig.APICURIO_REQUEST_HTTP_VERSION)).trim().toUpperCase());
+            options.setProtocolVersion(version);
+            if (version == HttpVersion.HTTP_2) {
+                //ALPN is required to negotiate h2 over TLS, the connection falls back to HTTP/1.1 when the server does not support it
+                options.setUseAlpn(true);
+                options.setHttp2ClearTextUpgrade(!toBoolean(config.get(ApicurioClientConfig.APICURIO_REQUEST_HTTP2_PRIOR_KNOWLEDGE)));
+            }
+        }
+        if (toBoolean(config.get(ApicurioClientConfig.APICURIO_REQUEST_COMPRESSION_ENABLED))) {
+            //sends Accept-Encoding and decodes the responses, brotli included when brotli4j is on the classpath
+            options.setDecompressionSupported(true);
+        }
+        configurePool(options, config);
         return options;
     }
 
+    private static void configurePool(WebClientOptions options, Map<String, Object> config) {
+        Integer connectTimeout = ConfigUtil.getInteger(config, ApicurioClientConfig.APICURIO_REQUEST_CONNECT_TIMEOUT);
+        if (connectTimeout != null) {
+            options.setConnectTimeout(connectTimeout);
+        }
+        Integer maxPoolSize = ConfigUtil.getInteger(config, ApicurioClientConfig.APICURIO_REQUEST_POOL_MAX_SIZE);
+        if (maxPoolSize != null) {
+            options.setMaxPoolSize(maxPoolSize);
+        }
+        Integer http2MaxPoolSize = ConfigUtil.getInteger(config, ApicurioClientConfig.APICURIO_REQUEST_POOL_HTTP2_MAX_SIZE);
+        if (http2MaxPoolSize != null) {
+            options.setHttp2MaxPoolSize(http2MaxPoolSize);
+        }
+        Integer maxWaitQueueSize = ConfigUtil.getInteger(config, ApicurioClientConfig.APICURIO_REQUEST_POOL_MAX_WAIT_QUEUE_SIZE);
+        if (maxWaitQueueSize != null) {
+            options.setMaxWaitQueueSize(maxWaitQueueSize);
+        }
+        if (config.containsKey(ApicurioClientConfig.APICURIO_REQUEST_KEEP_ALIVE)) {
+            options.setKeepAlive(toBoolean(config.get(ApicurioClientConfig.APICURIO_REQUEST_KEEP_ALIVE)));
+        }
+        Integer keepAliveTimeout = ConfigUtil.getInteger(config, ApicurioClientConfig.APICURIO_REQUEST_KEEP_ALIVE_TIMEOUT);
+        if (keepAliveTimeout != null) {
+            options.setKeepAliveTimeout(keepAliveTimeout);
+            options.setHttp2KeepAliveTimeout(keepAliveTimeout);
+        }
+        Integer idleTimeout = ConfigUtil.getInteger(config, ApicurioClientConfig.APICURIO_REQUEST_IDLE_TIMEOUT);
+        if (idleTimeout != null) {
+            options.setIdleTimeout(idleTimeout);
+        }
+        if (config.containsKey(ApicurioClientConfig.APICURIO_REQUEST_PIPELINING)) {
+            options.setPipelining(toBoolean(config.get(ApicurioClientConfig.APICURIO_REQUEST_PIPELINING)));
+        }
+        Integer pipeliningLimit = ConfigUtil.getInteger(config, ApicurioClientConfig.APICURIO_REQUEST_PIPELINING_LIMIT);
+        if (pipeliningLimit != null) {
+            options.setPipeliningLimit(pipeliningLimit);
+        }
+    }
+
     private void processConfiguration(Map<String, Object> configs) {
         Map<String, String> requestHeaders = configs.entrySet().stream()
                 .filter(map -> map.getKey().startsWith(ApicurioClientConfig.APICURIO_REQUEST_HEADERS_PREFIX))
@@ -83,68 +201,121 @@ public class VertxHttpClient implements ApicurioHttpClient {
             throw new UnsupportedOperationException("Must not be called on event loop");
         }
 
-        final URI uri = UriUtil.buildURI(basePath + request.getRequestPath(), request.getQueryParams(), request.getPathParams());
-        final RequestOptions requestOptions = new RequestOptions();
+        return ConcurrentUtil.result(sendRequestAsync(request));
+    }
 
-        requestOptions.setHost(uri.getHost());
-        requestOptions.setURI(uri.getPath());
-        requestOptions.setAbsoluteURI(uri.toString());
+    @Override
+    public List<RequestResult<?>> sendRequests(List<? extends Request<?>> requests, int maxConcurrency) {
+        if (Context.isOnEventLoopThread()) {
+            throw new UnsupportedOperationException("Must not be called on event loop");
+        }
 
-        DEFAULT_HEADERS.forEach(requestOptions::addHeader);
+        return ConcurrentUtil.result(sendRequestsAsync(requests, maxConcurrency));
+    }
 
-        //Add current request headers
-        requestHeaders.get().forEach(requestOptions::addHeader);
-        requestHeaders.remove();
+    @Override
+    public <T> CompletionStage<T> sendRequestAsync(Request<T> request) {
+        final ExchangeRecorder recorder = ExchangeRecorder.start(metrics, request);
+        final MultiMap headers;
+        final String uriString;
+        try {
+            uriString = UriUtil.buildPath(basePath + request.getRequestPath(), request.getQueryParams(), request.getPathParams());
+            headers = prepareHeaders(request);
+        } catch (RuntimeException e) {
+            return recorder.record(CompletableFuture.failedFuture(e));
+        }
 
-        Map<String, String> headers = request.getHeaders();
-        if (this.auth != null) {
-            //make headers mutable...
-            headers = new HashMap<>(headers);
-            this.auth.apply(headers);
+        if (coalescer != null && request.getOperation() == Operation.GET && request.getResponseMode().isShareable()) {
+            final String key = HttpMethod.GET.name() + ' ' + RequestKey.of(uriString, headers);
+            return recorder.record(coalescer.executeAsync(key, () -> execute(request, headers, uriString, recorder)));
         }
-        headers.forEach(requestOptions::addHeader);
+        return recorder.record(execute(request, headers, uriString, recorder));
+    }
 
-        CompletableFuture<T> resultHolder;
+    /**
+     * Assembles the headers of a request, consuming the headers set for the next request of the current thread.
+     */
+    private MultiMap prepareHeaders(Request<?> request) {
+        final MultiMap requestOptionsHeaders = MultiMap.caseInsensitiveMultiMap();
 
-        final String uriString = uri.toString();
+        DEFAULT_HEADERS.forEach(requestOptionsHeaders::add);
+
+        //Add current request headers
+        nextRequestHeaders.consume().forEach(requestOptionsHeaders::add);
+
+        if (auth == null || !staticAuthHeaders.isEmpty()) {
+            //static auth headers replace the request ones with the same name
+            request.getHeaders().forEach((name, value) -> {
+                if (!staticAuthHeaders.containsKey(name)) {
+                    requestOptionsHeaders.add(name, value);
+                }
+            });
+            staticAuthHeaders.forEach(requestOptionsHeaders::add);
+        } else {
+            //other auths are applied to a copy of the request headers, which they may read or change
+            final Map<String, String> headers = new HashMap<>(request.getHeaders());
+            auth.apply(headers);
+            headers.forEach(requestOptionsHeaders::add);
+        }
+        return requestOptionsHeaders;
+    }
+
+    private <T> CompletableFuture<T> execute(Request<T> request, MultiMap requestHeaders, String uriString, ExchangeRecorder recorder) {
+        CompletableFuture<T> resultHolder;
+        final RetryPolicy.Retries retries = retryPolicy == null ? null : retryPolicy.start(request);
+        final RequestTimeouts requestTimeouts = timeouts.forRequest(request);
 
         switch (request.getOperation()) {
             case GET:
-                resultHolder = executeGet(request, requestOptions.getHeaders(), uriString);
+                resultHolder = executeGet(request, requestHeaders, uriString, recorder, retries, requestTimeouts);
                 break;
             case PUT:
-                resultHolder = executePut(request, requestOptions.getHeaders(), uriString);
+                resultHolder = executePut(request, requestHeaders, uriString, recorder, retries, requestTimeouts);
                 break;
             case POST:
-                resultHolder = executePost(request, requestOptions.getHeaders(), uriString);
+                resultHolder = executePost(request, requestHeaders, uriString, recorder, retries, requestTimeouts);
                 break;
             case DELETE:
-                resultHolder = executeDelete(request, requestOptions.getHeaders(), uriString);
+                resultHolder = executeDelete(request, requestHeaders, uriString, recorder, retries, requestTimeouts);
                 break;
             default:
-                throw new IllegalStateException("Operation not allowed");
+                resultHolder = CompletableFuture.failedFuture(new IllegalStateException("Operation not allowed"));
         }
 
-        return ConcurrentUtil.result(resultHolder);
+        return resultHolder;
     }
 
-    private <T> CompletableFuture<T> executeGet(Request<T> request, MultiMap requestHeaders, String absoluteUri) {
-        return sendRequestWithoutPayload(HttpMethod.GET, request, requestHeaders, absoluteUri);
+    private <T> CompletableFuture<T> executeGet(Request<T> request, MultiMap requestHeaders, String absoluteUri, ExchangeRecorder recorder,
+                                                       RetryPolicy.Retries retries, RequestTimeouts requestTimeouts) {
+        return sendRequestWithoutPayload(HttpMethod.GET, request, requestHeaders, absoluteUri, recorder, retries, requestTimeouts);
     }
 
-    private <T> CompletableFuture<T> executeDelete(Request<T> request, MultiMap requestHeaders, String absoluteUri) {
-        return sendRequestWithoutPayload(HttpMethod.DELETE, request, requestHeaders, absoluteUri);
+    private <T> CompletableFuture<T> executeDelete(Request<T> request, MultiMap requestHeaders, String absoluteUri, ExchangeRecorder recorder,
+                                                          RetryPolicy.Retries retries, RequestTimeouts requestTimeouts) {
+        return sendRequestWithoutPayload(HttpMethod.DELETE, request, requestHeaders, absoluteUri, recorder, retries, requestTimeouts);
     }
 
-    private <T> CompletableFuture<T> executePost(Request<T> request, MultiMap requestHeaders, String absoluteUri) {
-        return sendRequestWithPayload(HttpMethod.POST, request, requestHeaders, absoluteUri);
+    private <T> CompletableFuture<T> executePost(Request<T> request, MultiMap requestHeaders, String absoluteUri, ExchangeRecorder recorder,
+                                                        RetryPolicy.Retries retries, RequestTimeouts requestTimeouts) {
+        return sendRequestWithPayload(HttpMethod.POST, request, requestHeaders, absoluteUri, recorder, retries, requestTimeouts);
     }
 
-    private <T> CompletableFuture<T> executePut(Request<T> request, MultiMap requestHeaders, String absoluteUri) {
-        return sendRequestWithPayload(HttpMethod.PUT, request, requestHeaders, absoluteUri);
+    private <T> CompletableFuture<T> executePut(Request<T> request, MultiMap requestHeaders, String absoluteUri, ExchangeRecorder recorder,
+                                                       RetryPolicy.Retries retries, RequestTimeouts requestTimeouts) {
+        return sendRequestWithPayload(HttpMethod.PUT, request, requestHeaders, absoluteUri, recorder, retries, requestTimeouts);
     }
 
-    private <T> CompletableFuture<T> sendRequestWithoutPayload(HttpMethod httpMethod, Request<T> request, MultiMap requestHeaders, String absoluteUri) {
+    private <T> CompletableFuture<T> sendRequestWithoutPayload(HttpMethod httpMethod, Request<T> request, MultiMap requestHeaders, String absoluteUri,
+                                                               ExchangeRecorder recorder, RetryPolicy.Retries retries, RequestTimeouts requestTimeouts) {
+        //files are written straight to disk instead of being held by the cache
+        final boolean cached = responseCache != null && httpMethod == HttpMethod.GET && request.getResponseMode() != ResponseMode.FILE;
+        if (cached) {
+            return sendCachedRequest(request, requestHeaders, absoluteUri, recorder, retries, requestTimeouts);
+        }
+        if (streaming || requestTimeouts.hasDeadline()) {
+            return sendStreamingRequest(httpMethod, request, requestHeaders, absoluteUri, HttpClientRequest::send, recorder, 0, retries, requestTimeouts);
+        }
+
         final HttpRequest<Buffer> httpClientRequest = webClient.requestAbs(httpMethod, absoluteUri);
         httpClientRequest.putHeaders(requestHeaders);
 
@@ -153,12 +324,83 @@ public class VertxHttpClient implements ApicurioHttpClient {
                 .forEach(value -> httpClientRequest.setQueryParam(key, value)));
 
         final CompletableFuture<T> resultHolder = new CompletableFuture<T>();
-        final ResponseHandler<T> responseHandler = new ResponseHandler<>(resultHolder, request.getResponseType(), errorHandler);
-        httpClientRequest.send(responseHandler);
+        final ResponseHandler<T> responseHandler = new ResponseHandler<>(vertx, resultHolder, request, errorHandler, jsonCodec);
+        sendWithRetries(httpClientRequest, HttpRequest::send, retries, requestTimeouts, recorded(recorder, 0, responseHandler));
         return resultHolder;
     }
 
-    private <T> CompletableFuture<T> sendRequestWithPayload(HttpMethod httpMethod, Request<T> request, MultiMap requestHeaders, String absoluteUri) {
+    /**
+     * Sends a cacheable request with the core http client, its response body is aggregated to be stored.
+     */
+    private <T> CompletableFuture<T> sendCachedRequest(Request<T> request, MultiMap requestHeaders, String absoluteUri, ExchangeRecorder recorder,
+                                                       RetryPolicy.Retries retries, RequestTimeouts requestTimeouts) {
+        final CompletableFuture<T> resultHolder = new CompletableFuture<T>();
+        final ResponseHandler<T> responseHandler = new ResponseHandler<>(vertx, resultHolder, request, errorHandler, jsonCodec);
+        final String key = ResponseCache.createKey(absoluteUri, requestHeaders);
+        final CachedResponse cached = responseCache.get(key);
+        if (cached != null && cached.isFresh()) {
+            responseHandler.handleResponse(200, Buffer.buffer(cached.getBody()));
+            return resultHolder;
+        }
+        final AtomicReference<HttpClientRequest> inFlight = armDeadline(resultHolder, requestTimeouts);
+        final RequestOptions requestOptions = new RequestOptions()
+                .setMethod(HttpMethod.GET)
+                .setAbsoluteURI(absoluteUri)
+                .setHeaders(requestHeaders);
+        if (cached != null) {
+            ResponseCache.addConditionalHeaders(cached, requestOptions::putHeader);
+        }
+        sendStreamingWithRetries(requestOptions, HttpClientRequest::send, retries, requestTimeouts, inFlight).onComplete(event -> {
+            if (event.failed()) {
+                resultHolder.completeExceptionally(event.cause());
+                return;
+            }
+            final HttpClientResponse response = event.result();
+            response.body(body -> {
+                if (body.failed()) {
+                    resultHolder.completeExceptionally(body.cause());
+                    return;
+                }
+                recorder.response(response.statusCode(), 0, body.result().length());
+                final Function<String, String> headers = response.headers()::get;
+                if (response.statusCode() == ResponseCache.NOT_MODIFIED && cached != null) {
+                    final CachedResponse revalidated = responseCache.revalidated(key, cached, headers);
+                    responseHandler.handleResponse(200, Buffer.buffer(revalidated.getBody()));
+                    return;
+                }
+                if (response.statusCode() / 100 == 2) {
+                    responseCache.store(key, headers, body.result().getBytes());
+                }
+                responseHandler.handleResponse(response.statusCode(), body.result());
+            });
+            response.resume();
+        });
+        return resultHolder;
+    }
+
+    private <T> CompletableFuture<T> sendRequestWithPayload(HttpMethod httpMethod, Request<T> request, MultiMap requestHeaders, String absoluteUri,
+                                                            ExchangeRecorder recorder, RetryPolicy.Retries retries, RequestTimeouts requestTimeouts) {
+        //Uploads are streamed from the request data instead of being copied to the heap first
+        final InputStream data = request.getData();
+        final boolean compressBody = compression.compressesRequestBody(request);
+        //each attempt of a retried request reads its own view of the data, gzipped as it is sent when compressed
+        final Supplier<InputStream> requestData = retries == null ? request::getData : retries::getData;
+        final Supplier<InputStream> attemptData = compressBody ? () -> Compression.gzip(requestData.get()) : requestData;
+        final Buffer buffer = data == null ? Buffer.buffer(compressBody
+                ? Compression.gzip(IoUtil.toBytes(request.getDataString()))
+                : IoUtil.toBytes(request.getDataString())) : null;
+        if (compressBody) {
+            requestHeaders.set(HttpHeaders.CONTENT_ENCODING, Compression.GZIP);
+        } else if (data != null && request.getDataLength() >= 0) {
+            requestHeaders.set(HttpHeaders.CONTENT_LENGTH, String.valueOf(request.getDataLength()));
+        }
+        final long requestBytes = data == null ? buffer.length() : compressBody ? -1 : request.getDataLength();
+        if (streaming || requestTimeouts.hasDeadline()) {
+            return sendStreamingRequest(httpMethod, request, requestHeaders, absoluteUri, httpClientRequest -> data == null
+                    ? httpClientRequest.send(buffer)
+                    : httpClientRequest.send(new InputStreamReadStream(vertx, attemptData.get())), recorder, requestBytes, retries, requestTimeouts);
+        }
+
         final HttpRequest<Buffer> httpClientRequest = webClient.requestAbs(httpMethod, absoluteUri);
         httpClientRequest.putHeaders(requestHeaders);
         final CompletableFuture<T> resultHolder = new CompletableFuture<T>();
@@ -167,41 +409,182 @@ public class VertxHttpClient implements ApicurioHttpClient {
         request.getQueryParams().forEach((key, paramList) -> paramList
                 .forEach(value -> httpClientRequest.setQueryParam(key, value)));
 
-        final ResponseHandler<T> responseHandler = new ResponseHandler<>(resultHolder, request.getResponseType(), errorHandler);
-
-        Buffer buffer;
-        if (request.getData() != null) {
-            buffer = Buffer.buffer(IoUtil.toBytes(request.getData()));
+        final ResponseHandler<T> responseHandler = new ResponseHandler<>(vertx, resultHolder, request, errorHandler, jsonCodec);
+        if (data == null) {
+            sendWithRetries(httpClientRequest, (attempt, handler) -> attempt.sendBuffer(buffer, handler), retries, requestTimeouts,
+                    recorded(recorder, requestBytes, responseHandler));
         } else {
-            buffer = Buffer.buffer(IoUtil.toBytes(request.getDataString()));
+            sendWithRetries(httpClientRequest, (attempt, handler) -> attempt.sendStream(new InputStreamReadStream(vertx, attemptData.get()), handler), retries,
+                    requestTimeouts, recorded(recorder, requestBytes, responseHandler));
         }
-        httpClientRequest.sendBuffer(buffer, responseHandler);
 
         return resultHolder;
     }
 
-    private static boolean toBoolean(Object parameter) {
-        if (parameter == null) {
-            return false;
-        } else if (parameter instanceof Boolean) {
-            return (Boolean)parameter;
-        } else {
-            return parameter instanceof String && Boolean.parseBoolean((String) parameter);
+    /**
+     * Sends the request with the core http client so that the response body is consumed as it arrives and the
+     * exchange is reset once the deadline expires, the absolute uri already carries the query params.
+     */
+    private <T> CompletableFuture<T> sendStreamingRequest(HttpMethod httpMethod, Request<T> request, MultiMap requestHeaders, String absoluteUri,
+                                                          Function<HttpClientRequest, Future<HttpClientResponse>> sender, ExchangeRecorder recorder, long requestBytes,
+                                                          RetryPolicy.Retries retries, RequestTimeouts requestTimeouts) {
+        final CompletableFuture<T> resultHolder = new CompletableFuture<T>();
+        final AtomicReference<HttpClientRequest> inFlight = armDeadline(resultHolder, requestTimeouts);
+        final StreamingResponseHandler<T> responseHandler = new StreamingResponseHandler<>(vertx, resultHolder,
+                request, errorHandler, jsonCodec, streamingWindowSize);
+
+        final RequestOptions requestOptions = new RequestOptions()
+                .setMethod(httpMethod)
+                .setAbsoluteURI(absoluteUri)
+                .setHeaders(requestHeaders);
+        sendStreamingWithRetries(requestOptions, sender, retries, requestTimeouts, inFlight)
+                .onComplete(event -> {
+                    if (event.succeeded()) {
+                        recorder.response(event.result().statusCode(), requestBytes, contentLength(event.result().getHeader(HttpHeaders.CONTENT_LENGTH)));
+                    }
+                    responseHandler.handle(event);
+                });
+
+        return resultHolder;
+    }
+
+    /**
+     * Fails the request once its deadline expires, resetting the exchange in flight so that its connection is
+     * released instead of receiving the rest of the response.
+     *
+     * @return to be set to the request of each attempt
+     */
+    private AtomicReference<HttpClientRequest> armDeadline(CompletableFuture<?> resultHolder, RequestTimeouts requestTimeouts) {
+        final AtomicReference<HttpClientRequest> inFlight = new AtomicReference<>();
+        if (!requestTimeouts.hasDeadline()) {
+            return inFlight;
         }
+        final long timerId = vertx.setTimer(Math.max(1, requestTimeouts.remainingMillis()), id -> {
+            final TimeoutException failure = new TimeoutException(requestTimeouts.deadlineMessage());
+            final HttpClientRequest attempt = inFlight.get();
+            if (resultHolder.completeExceptionally(failure) && attempt != null) {
+                attempt.reset(0, failure);
+            }
+        });
+        resultHolder.whenComplete((result, failure) -> vertx.cancelTimer(timerId));
+        return inFlight;
+    }
+
+    /**
+     * Sends the request, again after the backoff delay as long as the retry policy asks for it and the deadline
+     * allows it.
+     */
+    private void sendWithRetries(HttpRequest<Buffer> httpRequest, BiConsumer<HttpRequest<Buffer>, Handler<AsyncResult<HttpResponse<Buffer>>>> sender,
+                                 RetryPolicy.Retries retries, RequestTimeouts requestTimeouts, Handler<AsyncResult<HttpResponse<Buffer>>> handler) {
+        if (requestTimeouts.getConnectTimeout() > 0) {
+            httpRequest.connectTimeout(requestTimeouts.getConnectTimeout());
+        }
+        if (requestTimeouts.attemptReadTimeout() > 0) {
+            httpRequest.idleTimeout(requestTimeouts.attemptReadTimeout());
+        }
+        if (retries == null) {
+            sender.accept(httpRequest, handler);
+            return;
+        }
+        sender.accept(httpRequest, event -> {
+            final long retryDelay = event.succeeded()
+                    ? retries.retryDelay(event.result().statusCode(), event.result().getHeader(RetryPolicy.RETRY_AFTER))
+                    : retries.retryDelay(event.cause());
+            if (retryDelay < 0) {
+                handler.handle(event);
+            } else if (retryDelay >= requestTimeouts.remainingMillis()) {
+                handler.handle(Future.failedFuture(new TimeoutException(requestTimeouts.deadlineMessage())));
+            } else {
+                vertx.setTimer(Math.max(1, retryDelay), id -> sendWithRetries(httpRequest, sender, retries, requestTimeouts, handler));
+            }
+        });
+    }
+
+    /**
+     * Streaming counterpart of {@link #sendWithRetries(HttpRequest, BiConsumer, RetryPolicy.Retries, RequestTimeouts, Handler)},
+     * the body of a retried response is discarded.
+     *
+     * @param inFlight set to the request of each attempt, so that it can be aborted
+     */
+    private Future<HttpClientResponse> sendStreamingWithRetries(RequestOptions requestOptions, Function<HttpClientRequest, Future<HttpClientResponse>> sender,
+                                                                RetryPolicy.Retries retries, RequestTimeouts requestTimeouts,
+                                                                AtomicReference<HttpClientRequest> inFlight) {
+        if (requestTimeouts.getConnectTimeout() > 0) {
+            requestOptions.setConnectTimeout(requestTimeouts.getConnectTimeout());
+        }
+        if (requestTimeouts.attemptReadTimeout() > 0) {
+            requestOptions.setIdleTimeout(requestTimeouts.attemptReadTimeout());
+        }
+        final Future<HttpClientResponse> response = httpClient.request(requestOptions)
+                .compose(httpClientRequest -> {
+                    inFlight.set(httpClientRequest);
+                    //paused until its body is consumed, a small body could otherwise end before the response is handled
+                    return sender.apply(httpClientRequest).map(HttpClientResponse::pause);
+                });
+        if (retries == null) {
+            return response;
+        }
+        final Promise<HttpClientResponse> promise = Promise.promise();
+        response.onComplete(event -> {
+            final long retryDelay = event.succeeded()
+                    ? retries.retryDelay(event.result().statusCode(), event.result().getHeader(RetryPolicy.RETRY_AFTER))
+                    : retries.retryDelay(event.cause());
+            if (retryDelay < 0) {
+                promise.handle(event);
+                return;
+            }
+            if (event.succeeded()) {
+                //the body of the retried response is drained
+                event.result().resume();
+            }
+            if (retryDelay >= requestTimeouts.remainingMillis()) {
+                promise.fail(new TimeoutException(requestTimeouts.deadlineMessage()));
+                return;
+            }
+            vertx.setTimer(Math.max(1, retryDelay), id -> sendStreamingWithRetries(requestOptions, sender, retries, requestTimeouts, inFlight).onComplete(promise));
+        });
+        return promise.future();
+    }
+
+    private static Handler<AsyncResult<HttpResponse<Buffer>>> recorded(ExchangeRecorder recorder, long requestBytes, Handler<AsyncResult<HttpResponse<Buffer>>> handler) {
+        return event -> {
+            if (event.succeeded()) {
+                final Buffer body = event.result().body();
+                recorder.response(event.result().statusCode(), requestBytes, body == null ? 0 : body.length());
+            }
+            handler.handle(event);
+        };
+    }
+
+    private static long contentLength(String header) {
+        try {
+            return header == null ? -1 : Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the response cache of this client, or null if caching is not enabled
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
     }
 
     @Override
+    @Deprecated
     public void setNextRequestHeaders(Map<String, String> headers) {
-        requestHeaders.set(headers);
+        nextRequestHeaders.set(headers);
     }
 
     @Override
     public Map<String, String> getHeaders() {
-        return requestHeaders.get();
+        return nextRequestHeaders.get();
     }
 
     @Override
     public void close() {
+        //closes the core client it wraps
         webClient.close();
     }
 }
@@ -0,0 +1,129 @@
+package io.apicurio.rest.client.request;
+
+import io.apicurio.rest.client.util.IoUtil;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ReadStream} of buffers read from an {@link InputStream} on a worker thread. A chunk is only read once
+ * the consumer asked for it, so piping a large upload to a slow connection never holds more than a few chunks
+ * in memory. The input stream is closed once it is exhausted or fails.
+ */
+public class InputStreamReadStream implements ReadStream<Buffer> {
+
+    private static final int DEFAULT_CHUNK_SIZE = 32 * 1024;
+
+    private final Context context;
+    private final InputStream input;
+    private final int chunkSize;
+
+    private final AtomicLong demand = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicBoolean reading = new AtomicBoolean();
+    private volatile boolean ended;
+
+    private volatile Handler<Buffer> handler;
+    private volatile Handler<Void> endHandler;
+    private volatile Handler<Throwable> exceptionHandler;
+
+    public InputStreamReadStream(Vertx vertx, InputStream input) {
+        this(vertx, input, DEFAULT_CHUNK_SIZE);
+    }
+
+    public InputStreamReadStream(Vertx vertx, InputStream input, int chunkSize) {
+        this.context = vertx.getOrCreateContext();
+        this.input = input;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public InputStreamReadStream exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public InputStreamReadStream handler(Handler<Buffer> handler) {
+        this.handler = handler;
+        if (handler != null) {
+            readNextChunk();
+        }
+        return this;
+    }
+
+    @Override
+    public InputStreamReadStream pause() {
+        demand.set(0);
+        return this;
+    }
+
+    @Override
+    public InputStreamReadStream resume() {
+        return fetch(Long.MAX_VALUE);
+    }
+
+    @Override
+    public InputStreamReadStream fetch(long amount) {
+        if (amount > 0) {
+            demand.accumulateAndGet(amount, (current, added) -> {
+                final long sum = current + added;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            readNextChunk();
+        }
+        return this;
+    }
+
+    @Override
+    public InputStreamReadStream endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    private void readNextChunk() {
+        if (ended || handler == null || demand.get() <= 0 || !reading.compareAndSet(false, true)) {
+            return;
+        }
+        context.executeBlocking(() -> {
+            final byte[] chunk = new byte[chunkSize];
+            final int read = input.readNBytes(chunk, 0, chunkSize);
+            if (read == 0) {
+                return null;
+            }
+            return read == chunkSize ? Buffer.buffer(chunk) : Buffer.buffer(read).appendBytes(chunk, 0, read);
+        }, true).onComplete(result -> {
+            reading.set(false);
+            if (result.failed()) {
+                finish();
+                final Handler<Throwable> exceptionHandler = this.exceptionHandler;
+                if (exceptionHandler != null) {
+                    exceptionHandler.handle(result.cause());
+                }
+            } else if (result.result() == null) {
+                finish();
+                final Handler<Void> endHandler = this.endHandler;
+                if (endHandler != null) {
+                    endHandler.handle(null);
+                }
+            } else {
+                demand.getAndUpdate(current -> current == Long.MAX_VALUE ? current : Math.max(0, current - 1));
+                final Handler<Buffer> handler = this.handler;
+                if (handler != null) {
+                    handler.handle(result.result());
+                }
+                readNextChunk();
+            }
+        });
+    }
+
+    private void finish() {
+        ended = true;
+        IoUtil.closeIgnore(input);
+    }
+}
@@ -0,0 +1,180 @@
+package io.apicurio.rest.client.response;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Blocking {@link InputStream} view of a {@link ReadStream} of buffers. The stream is paused once the amount of
+ * buffered data reaches the window size and resumed when the reader has consumed half of it, so the memory held
+ * for a response is bounded no matter its length.
+ * <p>
+ * Must be created on the context delivering the stream and must not be read from an event loop thread.
+ */
+public class ReadStreamInputStream extends InputStream {
+
+    private final ReadStream<Buffer> stream;
+    private final Context context;
+    private final int windowSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition dataAvailable = lock.newCondition();
+    private final ArrayDeque<Buffer> queue = new ArrayDeque<>();
+    private long queuedBytes;
+    private boolean paused;
+    private boolean ended;
+    private boolean closed;
+    private Throwable failure;
+
+    private Buffer current;
+    private int position;
+
+    public ReadStreamInputStream(ReadStream<Buffer> stream, int windowSize) {
+        this.stream = stream;
+        this.context = Vertx.currentContext();
+        this.windowSize = windowSize;
+        stream.handler(this::onData);
+        stream.exceptionHandler(this::onFailure);
+        stream.endHandler(v -> onEnd());
+    }
+
+    private void onData(Buffer buffer) {
+        lock.lock();
+        try {
+            if (closed) {
+                //the reader is gone, the remaining data is drained and discarded
+                return;
+            }
+            queue.add(buffer);
+            queuedBytes += buffer.length();
+            if (!paused && queuedBytes >= windowSize) {
+                paused = true;
+                stream.pause();
+            }
+            dataAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onFailure(Throwable t) {
+        lock.lock();
+        try {
+            failure = t;
+            dataAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onEnd() {
+        lock.lock();
+        try {
+            ended = true;
+            dataAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return false once the end of the stream is reached
+     */
+    private boolean fill() throws IOException {
+        if (current != null && position < current.length()) {
+            return true;
+        }
+        lock.lock();
+        try {
+            while (queue.isEmpty()) {
+                if (closed) {
+                    throw new IOException("Stream closed");
+                }
+                if (failure != null) {
+                    throw new IOException(failure);
+                }
+                if (ended) {
+                    current = null;
+                    return false;
+                }
+                dataAvailable.awaitUninterruptibly();
+            }
+            current = queue.poll();
+            position = 0;
+            queuedBytes -= current.length();
+            if (paused && queuedBytes <= windowSize / 2) {
+                paused = false;
+                resumeStream();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void resumeStream() {
+        if (context != null) {
+            context.runOnContext(v -> stream.resume());
+        } else {
+            stream.resume();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (fill()) {
+            if (position < current.length()) {
+                return current.getByte(position++) & 0xFF;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (fill()) {
+            final int count = Math.min(len, current.length() - position);
+            if (count > 0) {
+                current.getBytes(position, position + count, b, off);
+                position += count;
+                return count;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.length() - position;
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.clear();
+            current = null;
+            if (paused && !ended) {
+                paused = false;
+                resumeStream();
+            }
+            dataAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
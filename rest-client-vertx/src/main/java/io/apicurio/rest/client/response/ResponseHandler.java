@@ -2,66 +2,108 @@ package io.apicurio.rest.client.response;
 
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
 import io.apicurio.rest.client.error.RestClientErrorHandler;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.request.ResponseMode;
 import io.apicurio.rest.client.util.IoUtil;
-import io.apicurio.rest.client.util.RegistryDateDeserializer;
+import io.apicurio.rest.client.util.JsonCodec;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.web.client.HttpResponse;
 
-import java.util.Date;
+import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 
 /**
+ * Completes the result holder from an aggregated response body, read according to the {@link ResponseMode} of
+ * the request.
+ *
  * @author Carles Arnal 'carnalca@redhat.com'
  */
 public class ResponseHandler<T> implements Handler<AsyncResult<HttpResponse<Buffer>>> {
 
     final CompletableFuture<T> resultHolder;
     final TypeReference<T> targetType;
+    final ResponseMode responseMode;
+    final Path responseFile;
+    final Vertx vertx;
     final RestClientErrorHandler errorHandler;
-    private static final ObjectMapper mapper = new ObjectMapper();
+    final JsonCodec jsonCodec;
 
-    static {
-        SimpleModule module = new SimpleModule("Custom date handler");
-        module.addDeserializer(Date.class, new RegistryDateDeserializer());
-        mapper.registerModule(module);
+    public ResponseHandler(CompletableFuture<T> resultHolder, TypeReference<T> targetType, RestClientErrorHandler errorHandler) {
+        this(resultHolder, targetType, errorHandler, JsonCodec.getDefault());
     }
 
-    public ResponseHandler(CompletableFuture<T> resultHolder, TypeReference<T> targetType, RestClientErrorHandler errorHandler) {
+    public ResponseHandler(CompletableFuture<T> resultHolder, TypeReference<T> targetType, RestClientErrorHandler errorHandler, JsonCodec jsonCodec) {
+        this(resultHolder, targetType, ResponseMode.of(targetType), null, null, errorHandler, jsonCodec);
+    }
+
+    /**
+     * @param vertx writes the body of {@link ResponseMode#FILE} requests to their file
+     */
+    public ResponseHandler(Vertx vertx, CompletableFuture<T> resultHolder, Request<T> request, RestClientErrorHandler errorHandler, JsonCodec jsonCodec) {
+        this(resultHolder, request.getResponseType(), request.getResponseMode(), request.getResponseFile(), vertx, errorHandler, jsonCodec);
+    }
+
+    private ResponseHandler(CompletableFuture<T> resultHolder, TypeReference<T> targetType, ResponseMode responseMode, Path responseFile, Vertx vertx,
+                            RestClientErrorHandler errorHandler, JsonCodec jsonCodec) {
         this.resultHolder = resultHolder;
         this.targetType = targetType;
+        this.responseMode = responseMode;
+        this.responseFile = responseFile;
+        this.vertx = vertx;
         this.errorHandler = errorHandler;
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.jsonCodec = jsonCodec;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void handle(AsyncResult<HttpResponse<Buffer>> event) {
+        if (event.succeeded()) {
+            handleResponse(event.result().statusCode(), event.result().body());
+        } else {
+            resultHolder.completeExceptionally(event.cause());
+        }
+    }
+
+    /**
+     * Completes the result holder from a response status and body, which may come from the network or a cache.
+     */
+    @SuppressWarnings("unchecked")
+    public void handleResponse(int statusCode, Buffer body) {
         try {
-            if (event.result() != null && isFailure(event.result().statusCode())) {
-                if (event.result().body() != null) {
-                    resultHolder.completeExceptionally(errorHandler.handleErrorResponse(IoUtil.toStream(event.result().body().getBytes()), event.result().statusCode()));
+            if (isFailure(statusCode)) {
+                if (body != null) {
+                    resultHolder.completeExceptionally(errorHandler.handleErrorResponse(IoUtil.toStream(body.getBytes()), statusCode).withStatusCode(statusCode));
                 } else {
-                    resultHolder.completeExceptionally(errorHandler.handleErrorResponse(null, event.result().statusCode()));
-                }
-            } else if (event.succeeded()) {
-                final HttpResponse<Buffer> result = event.result();
-                final String typeName = targetType.getType().getTypeName();
-                if (typeName.contains("InputStream")) {
-                    resultHolder.complete((T) IoUtil.toStream(result.body().getBytes()));
-                } else if (typeName.contains("Void")) {
-                    //Intended null return
-                    resultHolder.complete(null);
-                } else {
-                    resultHolder.complete(mapper.readValue(result.body().getBytes(), targetType));
+                    resultHolder.completeExceptionally(errorHandler.handleErrorResponse(null, statusCode).withStatusCode(statusCode));
                 }
             } else {
-                resultHolder.completeExceptionally(event.cause());
+                final Buffer content = body == null ? Buffer.buffer() : body;
+                switch (responseMode) {
+                    case STREAM:
+                        resultHolder.complete((T) IoUtil.toStream(content.getBytes()));
+                        break;
+                    case JSON_STREAM:
+                        resultHolder.complete(jsonCodec.readValues(IoUtil.toStream(content.getBytes()), targetType));
+                        break;
+                    case BYTES:
+                        resultHolder.complete((T) content.getBytes());
+                        break;
+                    case DISCARD:
+                        //Intended null return
+                        resultHolder.complete(null);
+                        break;
+                    case FILE:
+                        vertx.fileSystem().writeFile(responseFile.toString(), content)
+                                .onSuccess(ignored -> resultHolder.complete((T) responseFile))
+                                .onFailure(resultHolder::completeExceptionally);
+                        break;
+                    default:
+                        resultHolder.complete(jsonCodec.readValue(body.getBytes(), targetType));
+                        break;
+                }
             }
         } catch (Exception e) {
             resultHolder.completeExceptionally(e);
@@ -0,0 +1,137 @@
+package io.apicurio.rest.client.response;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.apicurio.rest.client.error.RestClientErrorHandler;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.request.ResponseMode;
+import io.apicurio.rest.client.util.IoUtil;
+import io.apicurio.rest.client.util.JsonCodec;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpClientResponse;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Completes the result holder from a response whose body is consumed as it arrives. InputStream results read
+ * the body directly from the connection, json results are parsed on a worker thread from the same stream and
+ * json array results are parsed from it element by element as they are iterated, so at most one window of the
+ * body is held in memory at any time. File results are piped from the connection to
+ * the file, discarded bodies are drained without being aggregated.
+ * <p>
+ * The response is expected paused, so that none of its body is lost before it is consumed. InputStream results
+ * and json array results must be read, or closed, outside of the event loop.
+ */
+public class StreamingResponseHandler<T> implements Handler<AsyncResult<HttpClientResponse>> {
+
+    final Vertx vertx;
+    final CompletableFuture<T> resultHolder;
+    final TypeReference<T> targetType;
+    final ResponseMode responseMode;
+    final Path responseFile;
+    final RestClientErrorHandler errorHandler;
+    final JsonCodec jsonCodec;
+    final int windowSize;
+
+    public StreamingResponseHandler(Vertx vertx, CompletableFuture<T> resultHolder, TypeReference<T> targetType, RestClientErrorHandler errorHandler,
+                                    JsonCodec jsonCodec, int windowSize) {
+        this(vertx, resultHolder, targetType, ResponseMode.of(targetType), null, errorHandler, jsonCodec, windowSize);
+    }
+
+    public StreamingResponseHandler(Vertx vertx, CompletableFuture<T> resultHolder, Request<T> request, RestClientErrorHandler errorHandler,
+                                    JsonCodec jsonCodec, int windowSize) {
+        this(vertx, resultHolder, request.getResponseType(), request.getResponseMode(), request.getResponseFile(), errorHandler, jsonCodec, windowSize);
+    }
+
+    private StreamingResponseHandler(Vertx vertx, CompletableFuture<T> resultHolder, TypeReference<T> targetType, ResponseMode responseMode, Path responseFile,
+                                     RestClientErrorHandler errorHandler, JsonCodec jsonCodec, int windowSize) {
+        this.vertx = vertx;
+        this.resultHolder = resultHolder;
+        this.targetType = targetType;
+        this.responseMode = responseMode;
+        this.responseFile = responseFile;
+        this.errorHandler = errorHandler;
+        this.jsonCodec = jsonCodec;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void handle(AsyncResult<HttpClientResponse> event) {
+        if (event.failed()) {
+            resultHolder.completeExceptionally(event.cause());
+            return;
+        }
+        final HttpClientResponse response = event.result();
+        final int statusCode = response.statusCode();
+        try {
+            if (isFailure(statusCode)) {
+                //error bodies are small, they are aggregated for the error handler
+                response.body(body -> {
+                    if (body.succeeded()) {
+                        resultHolder.completeExceptionally(errorHandler.handleErrorResponse(IoUtil.toStream(body.result().getBytes()), statusCode).withStatusCode(statusCode));
+                    } else {
+                        resultHolder.completeExceptionally(errorHandler.handleErrorResponse(null, statusCode).withStatusCode(statusCode));
+                    }
+                });
+                response.resume();
+                return;
+            }
+            switch (responseMode) {
+                case STREAM:
+                    final InputStream stream = new ReadStreamInputStream(response, windowSize);
+                    response.resume();
+                    resultHolder.complete((T) stream);
+                    break;
+                case JSON_STREAM:
+                    //the start of the array is read on a worker thread, the elements by the thread iterating over them
+                    final InputStream values = new ReadStreamInputStream(response, windowSize);
+                    response.resume();
+                    vertx.executeBlocking(() -> jsonCodec.readValues(values, targetType), false).onComplete(this::complete);
+                    break;
+                case BYTES:
+                    response.body(body -> complete(body.map(buffer -> (T) buffer.getBytes())));
+                    response.resume();
+                    break;
+                case DISCARD:
+                    //Intended null return, the body is discarded
+                    response.end(end -> complete(end.map((T) null)));
+                    response.resume();
+                    break;
+                case FILE:
+                    //the pipe resumes the response once the file is open
+                    vertx.fileSystem().open(responseFile.toString(), new OpenOptions().setWrite(true).setCreate(true).setTruncateExisting(true))
+                            .compose(response::pipeTo)
+                            .onComplete(piped -> complete(piped.map(ignored -> (T) responseFile)));
+                    break;
+                default:
+                    final InputStream body = new ReadStreamInputStream(response, windowSize);
+                    response.resume();
+                    vertx.executeBlocking(() -> {
+                        try (InputStream in = body) {
+                            return jsonCodec.readValue(in, targetType);
+                        }
+                    }, false).onComplete(this::complete);
+                    break;
+            }
+        } catch (Exception e) {
+            resultHolder.completeExceptionally(e);
+        }
+    }
+
+    private void complete(AsyncResult<T> result) {
+        if (result.succeeded()) {
+            resultHolder.complete(result.result());
+        } else {
+            resultHolder.completeExceptionally(result.cause());
+        }
+    }
+
+    private static boolean isFailure(int statusCode) {
+        return statusCode / 100 != 2;
+    }
+}
@@ -0,0 +1,142 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.compression.Compression;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_COMPRESSION_ENABLED;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_COMPRESSION_REQUEST_MIN_SIZE;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_STREAMING_ENABLED;
+
+public class CompressionTest {
+
+    private static final String COUNTRIES = "[{ \"name\": \"France\", \"capital\": \"Paris\" }, { \"name\": \"Italy\", \"capital\": \"Rome\" }]";
+
+    private static WireMockServer wireMockServer;
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void init() throws Exception {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        vertx = Vertx.vertx();
+    }
+
+    @BeforeEach
+    public void reset() throws Exception {
+        wireMockServer.resetAll();
+        final byte[] countries = COUNTRIES.getBytes(StandardCharsets.UTF_8);
+        wireMockServer.stubFor(get(urlEqualTo("/countries/gzip"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("Content-Encoding", "gzip")
+                        .withHeader("Cache-Control", "max-age=60")
+                        .withBody(Compression.gzip(countries))));
+        final ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(deflated)) {
+            out.write(countries);
+        }
+        wireMockServer.stubFor(get(urlEqualTo("/countries/deflate"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("Content-Encoding", "deflate")
+                        .withBody(deflated.toByteArray())));
+        wireMockServer.stubFor(put(urlEqualTo("/countries"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(COUNTRIES)));
+    }
+
+    @Test
+    public void testCompressedResponsesAreDecoded() {
+        final VertxHttpClient client = client(Map.of(APICURIO_REQUEST_COMPRESSION_ENABLED, "true"));
+
+        Assertions.assertEquals("Rome", client.sendRequest(getCountries("countries/gzip")).get(1).getCapital());
+        Assertions.assertEquals("Rome", client.sendRequest(getCountries("countries/deflate")).get(1).getCapital());
+        wireMockServer.verify(getRequestedFor(urlEqualTo("/countries/gzip")).withHeader("Accept-Encoding", containing("gzip")));
+        wireMockServer.verify(getRequestedFor(urlEqualTo("/countries/deflate")).withHeader("Accept-Encoding", containing("deflate")));
+    }
+
+    @Test
+    public void testStreamedCompressedResponsesAreDecoded() {
+        final VertxHttpClient client = client(Map.of(APICURIO_REQUEST_COMPRESSION_ENABLED, "true", APICURIO_REQUEST_STREAMING_ENABLED, "true"));
+
+        Assertions.assertEquals("Rome", client.sendRequest(getCountries("countries/gzip")).get(1).getCapital());
+        Assertions.assertEquals("Rome", client.sendRequest(getCountries("countries/deflate")).get(1).getCapital());
+    }
+
+    @Test
+    public void testRequestBodiesAreCompressed() {
+        final VertxHttpClient client = client(Map.of(APICURIO_REQUEST_COMPRESSION_REQUEST_MIN_SIZE, "16"));
+        final byte[] countries = COUNTRIES.getBytes(StandardCharsets.UTF_8);
+
+        client.sendRequest(putCountries().data(COUNTRIES).build());
+        client.sendRequest(putCountries().data(new ByteArrayInputStream(countries), countries.length).build());
+
+        wireMockServer.verify(2, putRequestedFor(urlEqualTo("/countries"))
+                .withHeader("Content-Encoding", equalTo("gzip"))
+                .withRequestBody(equalTo(COUNTRIES)));
+    }
+
+    @Test
+    public void testSmallRequestBodiesAreNotCompressed() {
+        final VertxHttpClient client = client(Map.of(APICURIO_REQUEST_COMPRESSION_REQUEST_MIN_SIZE, "4096"));
+
+        client.sendRequest(putCountries().data(COUNTRIES).build());
+
+        wireMockServer.verify(1, putRequestedFor(urlEqualTo("/countries"))
+                .withoutHeader("Content-Encoding")
+                .withRequestBody(equalTo(COUNTRIES)));
+    }
+
+    private static VertxHttpClient client(Map<String, Object> configs) {
+        return new VertxHttpClient(vertx, wireMockServer.baseUrl(), configs, null, null);
+    }
+
+    private static Request<List<Country>> getCountries(String path) {
+        return new Request.RequestBuilder<List<Country>>()
+                .operation(Operation.GET)
+                .path(path)
+                .responseType(new TypeReference<List<Country>>() {
+                })
+                .build();
+    }
+
+    private static Request.RequestBuilder<List<Country>> putCountries() {
+        return new Request.RequestBuilder<List<Country>>()
+                .operation(Operation.PUT)
+                .path("countries")
+                .responseType(new TypeReference<List<Country>>() {
+                });
+    }
+
+    @AfterAll
+    public static void stop() {
+        vertx.close();
+        wireMockServer.stop();
+    }
+}
@@ -0,0 +1,61 @@
+package io.apicurio.rest.client;
+
+import io.vertx.ext.web.client.WebClientOptions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_CONNECT_TIMEOUT;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_IDLE_TIMEOUT;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_KEEP_ALIVE;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_KEEP_ALIVE_TIMEOUT;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_PIPELINING;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_PIPELINING_LIMIT;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_POOL_HTTP2_MAX_SIZE;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_POOL_MAX_SIZE;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_POOL_MAX_WAIT_QUEUE_SIZE;
+
+public class ConnectionPoolTest {
+
+    @Test
+    public void testPoolSettingsAreMappedToClientOptions() {
+        final WebClientOptions options = VertxHttpClient.createClientOptions(Map.of(
+                APICURIO_REQUEST_CONNECT_TIMEOUT, "1500",
+                APICURIO_REQUEST_POOL_MAX_SIZE, "12",
+                APICURIO_REQUEST_POOL_HTTP2_MAX_SIZE, 3,
+                APICURIO_REQUEST_POOL_MAX_WAIT_QUEUE_SIZE, "40",
+                APICURIO_REQUEST_KEEP_ALIVE, "false",
+                APICURIO_REQUEST_KEEP_ALIVE_TIMEOUT, "30",
+                APICURIO_REQUEST_IDLE_TIMEOUT, "15",
+                APICURIO_REQUEST_PIPELINING, "true",
+                APICURIO_REQUEST_PIPELINING_LIMIT, "5"));
+
+        Assertions.assertEquals(1500, options.getConnectTimeout());
+        Assertions.assertEquals(12, options.getMaxPoolSize());
+        Assertions.assertEquals(3, options.getHttp2MaxPoolSize());
+        Assertions.assertEquals(40, options.getMaxWaitQueueSize());
+        Assertions.assertFalse(options.isKeepAlive());
+        Assertions.assertEquals(30, options.getKeepAliveTimeout());
+        Assertions.assertEquals(30, options.getHttp2KeepAliveTimeout());
+        Assertions.assertEquals(15, options.getIdleTimeout());
+        Assertions.assertTrue(options.isPipelining());
+        Assertions.assertEquals(5, options.getPipeliningLimit());
+    }
+
+    @Test
+    public void testVertxDefaultsAreKeptWhenNotConfigured() {
+        final WebClientOptions defaults = new WebClientOptions();
+        final WebClientOptions options = VertxHttpClient.createClientOptions(Map.of());
+
+        Assertions.assertEquals(defaults.getConnectTimeout(), options.getConnectTimeout());
+        Assertions.assertEquals(defaults.getMaxPoolSize(), options.getMaxPoolSize());
+        Assertions.assertEquals(defaults.getHttp2MaxPoolSize(), options.getHttp2MaxPoolSize());
+        Assertions.assertEquals(defaults.getMaxWaitQueueSize(), options.getMaxWaitQueueSize());
+        Assertions.assertEquals(defaults.isKeepAlive(), options.isKeepAlive());
+        Assertions.assertEquals(defaults.getKeepAliveTimeout(), options.getKeepAliveTimeout());
+        Assertions.assertEquals(defaults.getIdleTimeout(), options.getIdleTimeout());
+        Assertions.assertEquals(defaults.isPipelining(), options.isPipelining());
+        Assertions.assertEquals(defaults.getPipeliningLimit(), options.getPipeliningLimit());
+    }
+}
@@ -0,0 +1,205 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+public class PagedRequestTest {
+
+    private static final List<String> COUNTRIES = List.of("France", "Germany", "Italy", "Spain", "Portugal", "Belgium", "Austria");
+
+    private static WireMockServer wireMockServer;
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void init() {
+        vertx = Vertx.vertx();
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+    }
+
+    @BeforeEach
+    public void reset() {
+        wireMockServer.resetAll();
+        for (int pageSize : List.of(3, 7)) {
+            for (int offset = 0; offset <= COUNTRIES.size(); offset += pageSize) {
+                final String page = COUNTRIES.subList(offset, Math.min(offset + pageSize, COUNTRIES.size())).stream()
+                        .map(name -> "{ \"name\": \"" + name + "\", \"capital\": \"Capital of " + name + "\" }")
+                        .collect(Collectors.joining(", ", "[", "]"));
+                wireMockServer.stubFor(get(urlPathEqualTo("/countries"))
+                        .withQueryParam("offset", equalTo(String.valueOf(offset)))
+                        .withQueryParam("limit", equalTo(String.valueOf(pageSize)))
+                        .willReturn(aResponse()
+                                .withHeader("Content-Type", "application/json")
+                                .withBody(page)));
+            }
+        }
+        wireMockServer.stubFor(get(urlPathEqualTo("/failing/countries"))
+                .willReturn(aResponse().withStatus(500)));
+    }
+
+    @Test
+    public void testItemsArePublishedInOrder() throws Exception {
+        final VertxHttpClient client = new VertxHttpClient(vertx, wireMockServer.baseUrl(), Map.of(), null, null);
+        final CountrySubscriber subscriber = new CountrySubscriber(1);
+
+        client.sendPagedRequests(PagedRequestTest::getCountries, countries -> countries, 3).subscribe(subscriber);
+
+        Assertions.assertEquals(COUNTRIES, subscriber.completion.get(5, TimeUnit.SECONDS));
+        wireMockServer.verify(3, getRequestedFor(urlPathEqualTo("/countries")));
+    }
+
+    @Test
+    public void testFullLastPageEndsWithEmptyPage() throws Exception {
+        final VertxHttpClient client = new VertxHttpClient(vertx, wireMockServer.baseUrl(), Map.of(), null, null);
+        final CountrySubscriber subscriber = new CountrySubscriber(Long.MAX_VALUE);
+
+        client.sendPagedRequests(PagedRequestTest::getCountries, countries -> countries, 7).subscribe(subscriber);
+
+        Assertions.assertEquals(COUNTRIES, subscriber.completion.get(5, TimeUnit.SECONDS));
+        wireMockServer.verify(2, getRequestedFor(urlPathEqualTo("/countries")));
+    }
+
+    @Test
+    public void testDemandBoundsPrefetch() throws Exception {
+        final VertxHttpClient client = new VertxHttpClient(vertx, wireMockServer.baseUrl(), Map.of(), null, null);
+        final CountrySubscriber subscriber = new CountrySubscriber(0);
+
+        client.sendPagedRequests(PagedRequestTest::getCountries, countries -> countries, 3).subscribe(subscriber);
+        Thread.sleep(200);
+        wireMockServer.verify(0, getRequestedFor(urlPathEqualTo("/countries")));
+
+        subscriber.subscription.request(1);
+        Thread.sleep(300);
+        Assertions.assertEquals(List.of("France"), subscriber.items());
+        //the first page and the prefetched second one only
+        wireMockServer.verify(2, getRequestedFor(urlPathEqualTo("/countries")));
+        wireMockServer.verify(0, getRequestedFor(urlPathEqualTo("/countries")).withQueryParam("offset", equalTo("6")));
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        Assertions.assertEquals(COUNTRIES, subscriber.completion.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        final VertxHttpClient client = new VertxHttpClient(vertx, wireMockServer.baseUrl(), Map.of(), null, null);
+        final CountrySubscriber subscriber = new CountrySubscriber(1, 4);
+
+        client.sendPagedRequests(PagedRequestTest::getCountries, countries -> countries, 3).subscribe(subscriber);
+        Thread.sleep(500);
+
+        Assertions.assertEquals(COUNTRIES.subList(0, 4), subscriber.items());
+        Assertions.assertFalse(subscriber.completion.isDone());
+    }
+
+    @Test
+    public void testPageFailure() {
+        final VertxHttpClient client = new VertxHttpClient(vertx, wireMockServer.baseUrl(), Map.of(), null, null);
+        final CountrySubscriber subscriber = new CountrySubscriber(Long.MAX_VALUE);
+
+        client.sendPagedRequests((offset, limit) -> getCountries("failing/countries", offset, limit), countries -> countries, 3)
+                .subscribe(subscriber);
+
+        final ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> subscriber.completion.get(5, TimeUnit.SECONDS));
+        Assertions.assertNotNull(e.getCause());
+    }
+
+    private static Request<List<Country>> getCountries(int offset, int limit) {
+        return getCountries("countries", offset, limit);
+    }
+
+    private static Request<List<Country>> getCountries(String path, int offset, int limit) {
+        return new Request.RequestBuilder<List<Country>>()
+                .operation(Operation.GET)
+                .path(path)
+                .queryParams(Map.of("offset", List.of(String.valueOf(offset)), "limit", List.of(String.valueOf(limit))))
+                .responseType(new TypeReference<List<Country>>() {
+                })
+                .build();
+    }
+
+    /**
+     * Requests the given number of items at subscription and every time they are received, cancelling the
+     * subscription once cancelAfter items are received.
+     */
+    static class CountrySubscriber implements Flow.Subscriber<Country> {
+
+        final CompletableFuture<List<String>> completion = new CompletableFuture<>();
+        private final List<String> items = Collections.synchronizedList(new ArrayList<>());
+        private final long batch;
+        private final int cancelAfter;
+        volatile Flow.Subscription subscription;
+        private long received;
+
+        CountrySubscriber(long batch) {
+            this(batch, Integer.MAX_VALUE);
+        }
+
+        CountrySubscriber(long batch, int cancelAfter) {
+            this.batch = batch;
+            this.cancelAfter = cancelAfter;
+        }
+
+        List<String> items() {
+            return new ArrayList<>(items);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (batch > 0) {
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onNext(Country item) {
+            items.add(item.getName());
+            if (items.size() == cancelAfter) {
+                subscription.cancel();
+            } else if (batch > 0 && batch != Long.MAX_VALUE && ++received % batch == 0) {
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(items());
+        }
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+        vertx.close();
+    }
+}
@@ -0,0 +1,113 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_CACHE_ENABLED;
+
+public class ResponseCacheTest {
+
+    private static WireMockServer wireMockServer;
+    private static VertxHttpClient vertxHttpClient;
+
+    @BeforeAll
+    public static void init() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/countries/FR"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("Cache-Control", "max-age=60")
+                        .withBody("{ \"name\": \"France\", \"capital\": \"Paris\" }")));
+        wireMockServer.stubFor(get(urlEqualTo("/countries/DE"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("Cache-Control", "max-age=60")
+                        .withBody("{ \"name\": \"Germany\", \"capital\": \"Berlin\" }")));
+        wireMockServer.stubFor(get(urlEqualTo("/countries/IT"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("Cache-Control", "no-cache")
+                        .withHeader("ETag", "\"v1\"")
+                        .withBody("{ \"name\": \"Italy\", \"capital\": \"Rome\" }")));
+        wireMockServer.stubFor(get(urlEqualTo("/countries/IT"))
+                .atPriority(1)
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse()
+                        .withStatus(304)
+                        .withHeader("ETag", "\"v1\"")));
+
+        vertxHttpClient = new VertxHttpClient(Vertx.vertx(), wireMockServer.baseUrl(), Map.of(APICURIO_REQUEST_CACHE_ENABLED, "true"), null, null);
+    }
+
+    @Test
+    public void testFreshResponseIsServedFromCache() {
+        Assertions.assertEquals("Paris", vertxHttpClient.sendRequest(getCountry("FR")).getCapital());
+        Assertions.assertEquals("Paris", vertxHttpClient.sendRequestAsync(getCountry("FR")).toCompletableFuture().join().getCapital());
+
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/countries/FR")));
+        Assertions.assertEquals(1, vertxHttpClient.getResponseCache().getHitCount());
+    }
+
+    @Test
+    public void testStaleResponseIsRevalidated() {
+        Assertions.assertEquals("Rome", vertxHttpClient.sendRequest(getCountry("IT")).getCapital());
+        Assertions.assertEquals("Rome", vertxHttpClient.sendRequest(getCountry("IT")).getCapital());
+
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/countries/IT")).withHeader("If-None-Match", equalTo("\"v1\"")));
+        Assertions.assertEquals(1, vertxHttpClient.getResponseCache().getRevalidationCount());
+    }
+
+    @Test
+    public void testResponseIsNotServedToOtherCredentials() {
+        Assertions.assertEquals("Berlin", vertxHttpClient.sendRequest(getCountry("DE", "Bearer first")).getCapital());
+        Assertions.assertEquals("Berlin", vertxHttpClient.sendRequest(getCountry("DE", "Bearer second")).getCapital());
+        //the same credential is served from the cache
+        Assertions.assertEquals("Berlin", vertxHttpClient.sendRequest(getCountry("DE", "Bearer first")).getCapital());
+
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/countries/DE")).withHeader("Authorization", equalTo("Bearer first")));
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/countries/DE")).withHeader("Authorization", equalTo("Bearer second")));
+    }
+
+    private static Request<Country> getCountry(String code, String authorization) {
+        return new Request.RequestBuilder<Country>()
+                .path("countries/%s")
+                .pathParams(List.of(code))
+                .operation(Operation.GET)
+                .headers(Map.of("Authorization", authorization))
+                .responseType(new TypeReference<Country>() {
+                })
+                .build();
+    }
+
+    private static Request<Country> getCountry(String code) {
+        return new Request.RequestBuilder<Country>()
+                .path("countries/%s")
+                .pathParams(List.of(code))
+                .operation(Operation.GET)
+                .responseType(new TypeReference<Country>() {
+                })
+                .build();
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+}
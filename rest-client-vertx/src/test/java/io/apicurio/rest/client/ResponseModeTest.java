@@ -0,0 +1,181 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.request.ResponseMode;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.delete;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_STREAMING_ENABLED;
+
+public class ResponseModeTest {
+
+    private static final byte[] ARTIFACT = new byte[1024 * 1024];
+    private static final int COUNTRIES = 10_000;
+
+    private static WireMockServer wireMockServer;
+    private static Vertx vertx;
+    private static VertxHttpClient client;
+    private static VertxHttpClient streamingClient;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    public static void init() {
+        for (int i = 0; i < ARTIFACT.length; i++) {
+            ARTIFACT[i] = (byte) i;
+        }
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/artifacts/large"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/octet-stream")
+                        .withBody(ARTIFACT)));
+        wireMockServer.stubFor(delete(urlEqualTo("/artifacts/large"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{ \"deleted\": true }")));
+        wireMockServer.stubFor(get(urlEqualTo("/countries"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(IntStream.range(0, COUNTRIES)
+                                .mapToObj(i -> "{ \"name\": \"Country " + i + "\", \"capital\": \"Capital " + i + "\" }")
+                                .collect(Collectors.joining(", ", "[", "]")))));
+        vertx = Vertx.vertx();
+        client = new VertxHttpClient(vertx, wireMockServer.baseUrl(), Collections.emptyMap(), null, null);
+        streamingClient = new VertxHttpClient(vertx, wireMockServer.baseUrl(), Map.of(APICURIO_REQUEST_STREAMING_ENABLED, "true"), null, null);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testBytes(boolean streaming) {
+        final byte[] body = client(streaming).sendRequest(artifact(new TypeReference<byte[]>() {
+        }).responseMode(ResponseMode.BYTES).build());
+
+        Assertions.assertArrayEquals(ARTIFACT, body);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testJsonStreamIterator(boolean streaming) throws Exception {
+        final Iterator<Country> countries = client(streaming).sendRequest(countries(new TypeReference<Iterator<Country>>() {
+        }));
+
+        try (MappingIterator<Country> iterator = (MappingIterator<Country>) countries) {
+            int count = 0;
+            while (iterator.hasNext()) {
+                Assertions.assertEquals("Capital " + count, iterator.next().getCapital());
+                count++;
+            }
+            Assertions.assertEquals(COUNTRIES, count);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testJsonStream(boolean streaming) {
+        try (Stream<Country> countries = client(streaming).sendRequest(countries(new TypeReference<Stream<Country>>() {
+        }))) {
+            Assertions.assertEquals(List.of("Country 0", "Country 1", "Country 2"), countries.limit(3).map(Country::getName).collect(Collectors.toList()));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testStream(boolean streaming) throws Exception {
+        try (InputStream body = client(streaming).sendRequest(artifact(new TypeReference<InputStream>() {
+        }).build())) {
+            Assertions.assertArrayEquals(ARTIFACT, body.readAllBytes());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testFile(boolean streaming) throws Exception {
+        final Path target = tempDir.resolve("artifact-" + streaming + ".bin");
+        Files.write(target, new byte[]{1, 2, 3});
+
+        final Path written = client(streaming).sendRequest(artifact(new TypeReference<Path>() {
+        }).responseFile(target).build());
+
+        Assertions.assertEquals(target, written);
+        Assertions.assertArrayEquals(ARTIFACT, Files.readAllBytes(target));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testFileAsync(boolean streaming) throws Exception {
+        final Path target = tempDir.resolve("artifact-async-" + streaming + ".bin");
+
+        final Path written = client(streaming).sendRequestAsync(artifact(new TypeReference<Path>() {
+        }).responseFile(target).build()).toCompletableFuture().get();
+
+        Assertions.assertEquals(target, written);
+        Assertions.assertArrayEquals(ARTIFACT, Files.readAllBytes(target));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testDiscard(boolean streaming) {
+        final Void body = client(streaming).sendRequest(new Request.RequestBuilder<Void>()
+                .operation(Operation.DELETE)
+                .path("artifacts/large")
+                .responseType(new TypeReference<Void>() {
+                })
+                .build());
+
+        Assertions.assertNull(body);
+    }
+
+    private static VertxHttpClient client(boolean streaming) {
+        return streaming ? streamingClient : client;
+    }
+
+    private static <T> Request<T> countries(TypeReference<T> responseType) {
+        return new Request.RequestBuilder<T>()
+                .operation(Operation.GET)
+                .path("countries")
+                .responseType(responseType)
+                .build();
+    }
+
+    private static <T> Request.RequestBuilder<T> artifact(TypeReference<T> responseType) {
+        return new Request.RequestBuilder<T>()
+                .operation(Operation.GET)
+                .path("artifacts/large")
+                .responseType(responseType);
+    }
+
+    @AfterAll
+    public static void stop() {
+        client.close();
+        streamingClient.close();
+        vertx.close();
+        wireMockServer.stop();
+    }
+}
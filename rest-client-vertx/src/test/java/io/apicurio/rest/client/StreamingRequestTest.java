@@ -0,0 +1,103 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_STREAMING_ENABLED;
+
+public class StreamingRequestTest {
+
+    private static final byte[] ARTIFACT = new byte[2 * 1024 * 1024];
+
+    private static WireMockServer wireMockServer;
+    private static VertxHttpClient vertxHttpClient;
+
+    @BeforeAll
+    public static void init() {
+        for (int i = 0; i < ARTIFACT.length; i++) {
+            ARTIFACT[i] = (byte) i;
+        }
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(post(urlEqualTo("/artifacts"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{ \"name\": \"France\", \"capital\": \"Paris\" }")));
+
+        vertxHttpClient = new VertxHttpClient(Vertx.vertx(), wireMockServer.baseUrl(), Map.of(), null, null);
+    }
+
+    @BeforeEach
+    public void reset() {
+        wireMockServer.resetRequests();
+    }
+
+    @Test
+    public void testUploadWithKnownLength() {
+        Assertions.assertEquals("Paris", vertxHttpClient.sendRequest(upload(ARTIFACT.length)).getCapital());
+
+        final LoggedRequest received = receivedUpload();
+        Assertions.assertEquals(String.valueOf(ARTIFACT.length), received.getHeader("Content-Length"));
+        Assertions.assertTrue(Arrays.equals(ARTIFACT, received.getBody()));
+    }
+
+    @Test
+    public void testUploadWithUnknownLength() {
+        Assertions.assertEquals("Paris", vertxHttpClient.sendRequest(upload(-1)).getCapital());
+
+        Assertions.assertTrue(Arrays.equals(ARTIFACT, receivedUpload().getBody()));
+    }
+
+    @Test
+    public void testUploadWithStreamingClient() {
+        final VertxHttpClient streamingClient = new VertxHttpClient(Vertx.vertx(), wireMockServer.baseUrl(),
+                Map.of(APICURIO_REQUEST_STREAMING_ENABLED, "true"), null, null);
+        try {
+            Assertions.assertEquals("Paris", streamingClient.sendRequest(upload(ARTIFACT.length)).getCapital());
+        } finally {
+            streamingClient.close();
+        }
+
+        Assertions.assertTrue(Arrays.equals(ARTIFACT, receivedUpload().getBody()));
+    }
+
+    private static Request<Country> upload(long contentLength) {
+        return new Request.RequestBuilder<Country>()
+                .path("artifacts")
+                .operation(Operation.POST)
+                .data(new ByteArrayInputStream(ARTIFACT), contentLength)
+                .responseType(new TypeReference<Country>() {
+                })
+                .build();
+    }
+
+    private static LoggedRequest receivedUpload() {
+        final List<LoggedRequest> requests = wireMockServer.findAll(postRequestedFor(urlEqualTo("/artifacts")));
+        Assertions.assertEquals(1, requests.size());
+        return requests.get(0);
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+    }
+}
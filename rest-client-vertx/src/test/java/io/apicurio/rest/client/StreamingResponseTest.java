@@ -0,0 +1,111 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_STREAMING_ENABLED;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_STREAMING_WINDOW_SIZE;
+
+public class StreamingResponseTest {
+
+    private static final byte[] ARTIFACT = new byte[4 * 1024 * 1024];
+
+    private static WireMockServer wireMockServer;
+    private static VertxHttpClient vertxHttpClient;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    public static void init() {
+        for (int i = 0; i < ARTIFACT.length; i++) {
+            ARTIFACT[i] = (byte) i;
+        }
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/artifacts/large"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/octet-stream")
+                        .withBody(ARTIFACT)));
+        wireMockServer.stubFor(get(urlEqualTo("/countries"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[{ \"name\": \"France\", \"capital\": \"Paris\" }, { \"name\": \"Italy\", \"capital\": \"Rome\" }]")));
+
+        vertxHttpClient = new VertxHttpClient(Vertx.vertx(), wireMockServer.baseUrl(),
+                Map.of(APICURIO_REQUEST_STREAMING_ENABLED, "true", APICURIO_REQUEST_STREAMING_WINDOW_SIZE, "16384"), null, null);
+    }
+
+    @Test
+    public void testLargeBodyIsStreamed() throws Exception {
+        final InputStream body = vertxHttpClient.sendRequest(new Request.RequestBuilder<InputStream>()
+                .path("artifacts/large")
+                .operation(Operation.GET)
+                .responseType(new TypeReference<InputStream>() {
+                })
+                .build());
+
+        try (body) {
+            Assertions.assertTrue(Arrays.equals(ARTIFACT, body.readAllBytes()));
+        }
+    }
+
+    @Test
+    public void testJsonIsParsedFromStream() {
+        final List<Country> countries = vertxHttpClient.sendRequest(new Request.RequestBuilder<List<Country>>()
+                .path("countries")
+                .operation(Operation.GET)
+                .responseType(new TypeReference<List<Country>>() {
+                })
+                .build());
+
+        Assertions.assertEquals(2, countries.size());
+        Assertions.assertEquals("Rome", countries.get(1).getCapital());
+    }
+
+    @Test
+    public void testBodyReceivedBeforeItIsConsumedIsKept() throws Exception {
+        //the file is opened after the response is received, its first buffers must not be lost meanwhile
+        final List<CompletableFuture<Path>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(vertxHttpClient.sendRequestAsync(new Request.RequestBuilder<Path>()
+                    .path("artifacts/large")
+                    .operation(Operation.GET)
+                    .responseType(new TypeReference<Path>() {
+                    })
+                    .responseFile(tempDir.resolve("artifact-" + i + ".bin"))
+                    .build()).toCompletableFuture());
+        }
+        for (CompletableFuture<Path> result : results) {
+            Assertions.assertTrue(Arrays.equals(ARTIFACT, Files.readAllBytes(result.get(10, TimeUnit.SECONDS))));
+        }
+    }
+
+    @AfterAll
+    public static void stop() {
+        vertxHttpClient.close();
+        wireMockServer.stop();
+    }
+}
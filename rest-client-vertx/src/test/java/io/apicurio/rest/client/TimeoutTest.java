@@ -0,0 +1,146 @@
+package io.apicurio.rest.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.apicurio.rest.client.request.Operation;
+import io.apicurio.rest.client.request.Request;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_POOL_MAX_SIZE;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_READ_TIMEOUT;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_STREAMING_ENABLED;
+import static io.apicurio.rest.client.config.ApicurioClientConfig.APICURIO_REQUEST_TIMEOUT;
+
+public class TimeoutTest {
+
+    private static final String FRANCE = "{ \"name\": \"France\", \"capital\": \"Paris\" }";
+
+    private static WireMockServer wireMockServer;
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void init() {
+        vertx = Vertx.vertx();
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+    }
+
+    @BeforeEach
+    public void reset() {
+        wireMockServer.resetAll();
+    }
+
+    @Test
+    public void testDeadlineAbortsSlowResponse() {
+        respondAfter(3000);
+        final VertxHttpClient client = client(Map.of(APICURIO_REQUEST_TIMEOUT, 300));
+
+        final long start = System.nanoTime();
+        assertTimedOut(Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(getFrance().build())));
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2000);
+    }
+
+    @Test
+    public void testDeadlineAbortsStreamingResponse() {
+        wireMockServer.stubFor(get(urlEqualTo("/countries/FR"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(FRANCE)
+                        .withChunkedDribbleDelay(10, 3000)));
+        final VertxHttpClient client = client(Map.of(APICURIO_REQUEST_TIMEOUT, 500, APICURIO_REQUEST_STREAMING_ENABLED, true));
+
+        final long start = System.nanoTime();
+        assertTimedOut(Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(getFrance().build())));
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2500);
+    }
+
+    @Test
+    public void testDeadlineReleasesConnectionOfTricklingResponse() {
+        wireMockServer.stubFor(get(urlEqualTo("/countries/FR"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(FRANCE)
+                        .withChunkedDribbleDelay(10, 4000)));
+        wireMockServer.stubFor(get(urlEqualTo("/countries/IT"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{ \"name\": \"Italy\", \"capital\": \"Rome\" }")));
+        //a single connection, the next request waits for it unless the timed out exchange released it
+        final VertxHttpClient client = client(Map.of(APICURIO_REQUEST_TIMEOUT, 1000, APICURIO_REQUEST_POOL_MAX_SIZE, 1));
+
+        assertTimedOut(Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(getFrance().build())));
+        Assertions.assertEquals("Rome", client.sendRequest(getFrance().path("countries/IT").build()).getCapital());
+    }
+
+    @Test
+    public void testReadTimeout() {
+        respondAfter(3000);
+        final VertxHttpClient client = client(Map.of(APICURIO_REQUEST_READ_TIMEOUT, 300));
+
+        assertTimedOut(Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(getFrance().build())));
+    }
+
+    @Test
+    public void testRequestOverridesClientTimeout() {
+        respondAfter(500);
+        final VertxHttpClient client = client(Map.of(APICURIO_REQUEST_TIMEOUT, 100));
+
+        Assertions.assertEquals("Paris", client.sendRequest(getFrance().timeout(Duration.ZERO).build()).getCapital());
+        assertTimedOut(Assertions.assertThrows(RuntimeException.class, () -> client.sendRequest(getFrance().build())));
+
+        final VertxHttpClient withoutTimeout = client(Map.of());
+        assertTimedOut(Assertions.assertThrows(RuntimeException.class,
+                () -> withoutTimeout.sendRequest(getFrance().timeout(Duration.ofMillis(100)).build())));
+        Assertions.assertEquals("Paris", withoutTimeout.sendRequest(getFrance().build()).getCapital());
+    }
+
+    private static void assertTimedOut(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) {
+                return;
+            }
+        }
+        Assertions.fail("Expected a timeout", failure);
+    }
+
+    private static void respondAfter(int delay) {
+        wireMockServer.stubFor(get(urlEqualTo("/countries/FR"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(FRANCE)
+                        .withFixedDelay(delay)));
+    }
+
+    private static VertxHttpClient client(Map<String, Object> timeoutConfig) {
+        final Map<String, Object> config = new HashMap<>(timeoutConfig);
+        return new VertxHttpClient(vertx, wireMockServer.baseUrl(), config, null, null);
+    }
+
+    private static Request.RequestBuilder<Country> getFrance() {
+        return new Request.RequestBuilder<Country>()
+                .path("countries/FR")
+                .operation(Operation.GET)
+                .responseType(new TypeReference<Country>() {
+                });
+    }
+
+    @AfterAll
+    public static void stop() {
+        wireMockServer.stop();
+        vertx.close();
+    }
+}
@@ -3,6 +3,9 @@ package io.apicurio.rest.client;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.apicurio.rest.client.auth.Auth;
+import io.apicurio.rest.client.circuitbreaker.CircuitBreaker;
+import io.apicurio.rest.client.circuitbreaker.CircuitBreakerHttpClient;
 import io.apicurio.rest.client.request.Operation;
 import io.apicurio.rest.client.request.Request;
 import io.apicurio.rest.client.util.IoUtil;
@@ -15,16 +18,27 @@ import org.junit.jupiter.api.Test;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.MissingFormatArgumentException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public class VertxClientTest {
 
+    //reads a header of the request to add another one
+    private static final Auth REDUCING_AUTH = headers -> headers.put("X-Reduced", headers.getOrDefault("X-Reduce", "false"));
+
     private static final WiremockCountriesServer wiremockCountriesServer = new WiremockCountriesServer();
+    private static String mockServerUrl;
+    private static Vertx vertx;
     private static VertxHttpClient vertxHttpClient;
 
     @BeforeAll
     public static void init() throws JsonProcessingException {
-        String mockServerUrl = wiremockCountriesServer.start();
-        vertxHttpClient = new VertxHttpClient(Vertx.vertx(), mockServerUrl, Collections.emptyMap(), null, null);
+        mockServerUrl = wiremockCountriesServer.start();
+        vertx = Vertx.vertx();
+        vertxHttpClient = new VertxHttpClient(vertx, mockServerUrl, Collections.emptyMap(), null, null);
     }
 
     @Test
@@ -55,6 +69,28 @@ public class VertxClientTest {
         Assertions.assertEquals(france.getName(), "France");
     }
 
+    @Test
+    public void testGetAsync() {
+        final List<Country> countries = vertxHttpClient.sendRequestAsync(new Request.RequestBuilder<Country>()
+                        .path("countries/FR")
+                        .operation(Operation.GET)
+                        .responseType(new TypeReference<Country>() {
+                        })
+                        .build())
+                .thenCombine(vertxHttpClient.sendRequestAsync(new Request.RequestBuilder<Country>()
+                        .path("countries")
+                        .operation(Operation.POST)
+                        .data(IoUtil.toStream("{ \"name\": \"Greece\", \"capital\": \"Athens\" }"))
+                        .responseType(new TypeReference<Country>() {
+                        })
+                        .build()), List::of)
+                .toCompletableFuture()
+                .join();
+
+        Assertions.assertEquals(countries.get(0).getName(), "France");
+        Assertions.assertEquals(countries.get(1).getName(), "Greece");
+    }
+
     @Test
     public void testGetList() {
 
@@ -82,9 +118,101 @@ public class VertxClientTest {
         Assertions.assertEquals(reducedCountries.size(), 3);
     }
 
+    @Test
+    public void testNextRequestHeadersAreScopedToClient() {
+        final VertxHttpClient otherClient = new VertxHttpClient(vertx, mockServerUrl, Collections.emptyMap(), null, null);
+        try {
+            vertxHttpClient.setNextRequestHeaders(Map.of("X-Reduced", "true"));
+
+            Assertions.assertEquals(6, getCountries(otherClient).size());
+            Assertions.assertEquals(3, getCountries(vertxHttpClient).size());
+            //the headers only apply to the next request
+            Assertions.assertEquals(6, getCountries(vertxHttpClient).size());
+        } finally {
+            otherClient.close();
+        }
+    }
+
+    @Test
+    public void testRequestHeadersAsync() {
+        final List<Country> reducedCountries = vertxHttpClient.sendRequestAsync(new Request.RequestBuilder<List<Country>>()
+                        .path("countries")
+                        .operation(Operation.GET)
+                        .header("X-Reduced", "true")
+                        .responseType(new TypeReference<List<Country>>() {
+                        })
+                        .build())
+                .toCompletableFuture()
+                .join();
+
+        Assertions.assertEquals(3, reducedCountries.size());
+    }
+
+    @Test
+    public void testDynamicAuthIsAppliedToRequestHeaders() {
+        final VertxHttpClient authClient = new VertxHttpClient(vertx, mockServerUrl, Collections.emptyMap(), REDUCING_AUTH, null);
+        try {
+            Assertions.assertEquals(3, authClient.sendRequest(new Request.RequestBuilder<List<Country>>()
+                    .path("countries")
+                    .operation(Operation.GET)
+                    .header("X-Reduce", "true")
+                    .responseType(new TypeReference<List<Country>>() {
+                    })
+                    .build()).size());
+        } finally {
+            authClient.close();
+        }
+    }
+
+    private static List<Country> getCountries(VertxHttpClient client) {
+        return client.sendRequest(new Request.RequestBuilder<List<Country>>()
+                .path("countries")
+                .operation(Operation.GET)
+                .responseType(new TypeReference<List<Country>>() {
+                })
+                .build());
+    }
+
+
+    @Test
+    public void testInvalidRequestFailsStage() {
+        //the request is missing the param of its path, the failure is reported by the stage instead of thrown
+        final CompletionStage<List<Country>> result = vertxHttpClient.sendRequestAsync(new Request.RequestBuilder<List<Country>>()
+                .path("countries/%s")
+                .operation(Operation.GET)
+                .responseType(new TypeReference<List<Country>>() {
+                })
+                .build());
+
+        final ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> result.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(e.getCause() instanceof MissingFormatArgumentException);
+    }
+
+    @Test
+    public void testDecoratedBatchIsRejectedOnEventLoop() throws Exception {
+        final CircuitBreakerHttpClient client = new CircuitBreakerHttpClient(vertxHttpClient, new CircuitBreaker("batch", 4, 4, 50, 200, 1));
+        final CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        vertx.runOnContext(ignored -> {
+            try {
+                client.sendRequests(List.of(new Request.RequestBuilder<List<Country>>()
+                        .path("countries")
+                        .operation(Operation.GET)
+                        .responseType(new TypeReference<List<Country>>() {
+                        })
+                        .build()));
+                failure.complete(null);
+            } catch (RuntimeException e) {
+                failure.complete(e);
+            }
+        });
+
+        Assertions.assertTrue(failure.get(5, TimeUnit.SECONDS) instanceof UnsupportedOperationException);
+    }
 
     @AfterAll
     public static void stop() {
+        vertxHttpClient.close();
+        vertx.close();
         wiremockCountriesServer.stop();
     }
 }